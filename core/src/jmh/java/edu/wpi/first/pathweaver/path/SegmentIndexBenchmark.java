@@ -0,0 +1,110 @@
+package edu.wpi.first.pathweaver.path;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares finding the segment under the cursor in an autonomous routine of ten paths using a {@link SegmentIndex}
+ * with measuring the distance to every sampled point, and measures updating the index after a segment is sampled
+ * again. Run with {@code ./gradlew :core:jmh}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SegmentIndexBenchmark {
+    private static final int PATHS = 10;
+    private static final int WAYPOINTS = 6;
+    private static final double FIELD_LENGTH = 54;
+    private static final double FIELD_WIDTH = 27;
+    // About a quarter of a pixel with the field filling a 1080p screen
+    private static final double TOLERANCE = 1.0 / 128;
+    // About six pixels
+    private static final double HIT_DISTANCE = 0.2;
+
+    private final List<double[]> xs = new ArrayList<>();
+    private final List<double[]> ys = new ArrayList<>();
+    private final SegmentIndex index = new SegmentIndex(1);
+    private final Random random = new Random(0);
+
+    @Setup(Level.Trial)
+    public void setup() {
+        for (int path = 0; path < PATHS; path++) {
+            ControlPoint start = randomPoint();
+            for (int waypoint = 1; waypoint < WAYPOINTS; waypoint++) {
+                ControlPoint end = randomPoint();
+                double[] x = new double[64];
+                double[] y = new double[64];
+                int[] size = {0};
+                SplineSampler.sample(SplineSampler.segment(start, end), TOLERANCE, (px, py) -> {
+                    if (size[0] == x.length) {
+                        return;
+                    }
+                    x[size[0]] = px;
+                    y[size[0]] = py;
+                    size[0]++;
+                });
+                xs.add(Arrays.copyOf(x, size[0]));
+                ys.add(Arrays.copyOf(y, size[0]));
+                index.put(xs.size() - 1, x, y, size[0]);
+                start = end;
+            }
+        }
+    }
+
+    private ControlPoint randomPoint() {
+        return new ControlPoint(random.nextDouble() * FIELD_LENGTH, random.nextDouble() * -FIELD_WIDTH,
+                random.nextGaussian() * 5, random.nextGaussian() * 5, false);
+    }
+
+    @Benchmark
+    public Optional<SegmentIndex.Hit> indexed() {
+        return index.nearest(random.nextDouble() * FIELD_LENGTH, random.nextDouble() * -FIELD_WIDTH, HIT_DISTANCE);
+    }
+
+    @Benchmark
+    public int linear() {
+        double x = random.nextDouble() * FIELD_LENGTH;
+        double y = random.nextDouble() * -FIELD_WIDTH;
+        double maxDistance = HIT_DISTANCE;
+        int closest = -1;
+        for (int segment = 0; segment < xs.size(); segment++) {
+            double[] segmentX = xs.get(segment);
+            double[] segmentY = ys.get(segment);
+            for (int i = 1; i < segmentX.length; i++) {
+                double dx = segmentX[i] - segmentX[i - 1];
+                double dy = segmentY[i] - segmentY[i - 1];
+                double lengthSquared = dx * dx + dy * dy;
+                double t = lengthSquared == 0 ? 0
+                        : ((x - segmentX[i - 1]) * dx + (y - segmentY[i - 1]) * dy) / lengthSquared;
+                t = Math.max(0, Math.min(1, t));
+                double distance = Math.hypot(x - segmentX[i - 1] - t * dx, y - segmentY[i - 1] - t * dy);
+                if (distance <= maxDistance) {
+                    maxDistance = distance;
+                    closest = segment;
+                }
+            }
+        }
+        return closest;
+    }
+
+    @Benchmark
+    public SegmentIndex update() {
+        int segment = random.nextInt(xs.size());
+        double[] x = xs.get(segment);
+        index.put(segment, x, ys.get(segment), x.length);
+        return index;
+    }
+}
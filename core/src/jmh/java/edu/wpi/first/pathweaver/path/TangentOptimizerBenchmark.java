@@ -0,0 +1,72 @@
+package edu.wpi.first.pathweaver.path;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of optimizing tangents, both for the three waypoints around a dragged one and for every waypoint
+ * of a path at once, and of smoothing the tangents of a whole path with a {@link TangentSolver}. Run with
+ * {@code ./gradlew :core:jmh}; the gc profiler reports allocation per call.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TangentOptimizerBenchmark {
+    @Param({"5", "50"})
+    private int count;
+
+    private double[] x;
+    private double[] y;
+    private double[] tangentX;
+    private double[] tangentY;
+    private boolean[] locked;
+    private final double[] tangent = new double[2];
+    private final TangentSolver solver = new TangentSolver(TangentSolver.Objective.CURVATURE);
+    private int index;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Random random = new Random(0);
+        x = new double[count];
+        y = new double[count];
+        for (int i = 0; i < count; i++) {
+            x[i] = i * 3 + random.nextDouble();
+            y[i] = random.nextDouble() * -27;
+        }
+        tangentX = new double[count];
+        tangentY = new double[count];
+        locked = new boolean[count];
+        locked[0] = true;
+        locked[count - 1] = true;
+    }
+
+    @Benchmark
+    public double[] single() {
+        index = index % (count - 2) + 1;
+        TangentOptimizer.optimalTangent(x[index - 1], y[index - 1], x[index], y[index], x[index + 1], y[index + 1],
+                tangent);
+        return tangent;
+    }
+
+    @Benchmark
+    public double[] batch() {
+        TangentOptimizer.optimalTangents(x, y, count, tangentX, tangentY);
+        return tangentX;
+    }
+
+    @Benchmark
+    public double[] smooth() {
+        solver.solve(x, y, locked, count, tangentX, tangentY);
+        return tangentX;
+    }
+}
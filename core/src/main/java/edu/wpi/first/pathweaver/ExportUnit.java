@@ -0,0 +1,37 @@
+package edu.wpi.first.pathweaver;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * The unit trajectories are exported in.
+ */
+public enum ExportUnit {
+	METER("Always Meters"), SAME("Same as Project");
+	private static final Map<String, ExportUnit> STRING_EXPORT_UNIT_MAP;
+
+	private final String name;
+
+	ExportUnit(String name) {
+		this.name = name;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	static {
+		STRING_EXPORT_UNIT_MAP = Arrays.stream(values()).collect(Collectors.toMap(n -> n.name, n -> n));
+	}
+
+	public static ExportUnit fromString(String s) {
+		ExportUnit result = STRING_EXPORT_UNIT_MAP.get(s);
+
+		if (result == null) {
+			throw new IllegalArgumentException();
+		}
+
+		return result;
+	}
+}
@@ -0,0 +1,242 @@
+package edu.wpi.first.pathweaver;
+
+import com.google.gson.annotations.SerializedName;
+import edu.wpi.first.pathweaver.export.DecimationTolerance;
+import edu.wpi.first.pathweaver.export.ExportFormat;
+import edu.wpi.first.pathweaver.export.ExportSettings;
+
+import javax.measure.Quantity;
+import javax.measure.Unit;
+import javax.measure.UnitConverter;
+import javax.measure.quantity.Length;
+import java.io.File;
+
+/**
+ * The settings of a project, as stored in its "pathweaver.json". Both the editor's ProjectPreferences and headless
+ * builds read them, so they must not depend on JavaFX.
+ */
+public class ProjectValues {
+	@SuppressWarnings("PMD.ImmutableField")
+	private String lengthUnit;
+	@SuppressWarnings("PMD.ImmutableField")
+	private String exportUnit;
+	private final String exportFormat;
+	private final Boolean exportBundle;
+	private final Double resamplePeriod;
+	private DecimationTolerance decimation;
+	private final double maxVelocity;
+	private final double maxAcceleration;
+	@SerializedName(value = "trackWidth", alternate = "wheelBase")
+	private final double trackWidth;
+	private String gameName;
+	private final String outputDir;
+
+	/**
+	 * Constructor for ProjectValues.
+	 *
+	 * @param lengthUnit
+	 *            The unit to use for distances
+	 * @param exportUnit
+	 *            The unit to export trajectories in
+	 * @param exportFormat
+	 *            The file format to export trajectories in
+	 * @param exportBundle
+	 *            Whether to also export every trajectory into one bundle file
+	 * @param resamplePeriod
+	 *            The time between exported states in seconds, or 0 to export the generated states
+	 * @param decimation
+	 *            The tolerances for removing exported states in the project unit, or null to export every state
+	 * @param maxVelocity
+	 *            The maximum velocity the body is capable of travelling at
+	 * @param maxAcceleration
+	 *            The maximum acceleration to use
+	 * @param trackWidth
+	 *            The width between the center of each tire of the drivebase.  Even better would be a calculated
+	 *            track width from robot characterization.
+	 * @param gameName
+	 *            The year/FRC game
+	 * @param outputDir
+	 *            The directory for the output files
+	 */
+	@SuppressWarnings("PMD.ExcessiveParameterList")
+	public ProjectValues(String lengthUnit, String exportUnit, String exportFormat, boolean exportBundle,
+			double resamplePeriod, DecimationTolerance decimation, double maxVelocity, double maxAcceleration,
+			double trackWidth, String gameName, String outputDir) {
+		this.lengthUnit = lengthUnit;
+		this.exportUnit = exportUnit;
+		this.exportFormat = exportFormat;
+		this.exportBundle = exportBundle;
+		this.resamplePeriod = resamplePeriod;
+		this.decimation = decimation;
+		this.maxVelocity = maxVelocity;
+		this.maxAcceleration = maxAcceleration;
+		this.trackWidth = trackWidth;
+		this.gameName = gameName;
+		this.outputDir = outputDir;
+	}
+
+	/**
+	 * Fills in values missing from projects created by older versions of PathWeaver, and checks the decimation
+	 * tolerances. Gson creates the tolerances without calling their constructor, so a hand-edited project could
+	 * otherwise hold tolerances that are not positive.
+	 *
+	 * @param defaultGameName
+	 *            The game to use if the project has none
+	 * @return false if the export unit was missing and has been defaulted to the project unit
+	 * @throws IllegalArgumentException
+	 *             if a decimation tolerance is not positive. The other values have been filled in, and
+	 *             {@link #withoutDecimation()} can be used to carry on without decimating.
+	 */
+	public boolean fillDefaults(String defaultGameName) {
+		if (gameName == null) {
+			gameName = defaultGameName;
+		}
+		if (lengthUnit == null) {
+			lengthUnit = "METER";
+		}
+		boolean hasExportUnit = exportUnit != null;
+		if (!hasExportUnit) {
+			exportUnit = ExportUnit.SAME.getName();
+		}
+		if (decimation != null) {
+			decimation = new DecimationTolerance(decimation.getPosition(), decimation.getHeading(),
+					decimation.getVelocity());
+		}
+		return hasExportUnit;
+	}
+
+	/**
+	 * Copies these values, turning decimation off.
+	 *
+	 * @return The values without decimation tolerances.
+	 */
+	public ProjectValues withoutDecimation() {
+		return new ProjectValues(lengthUnit, exportUnit, exportFormat, isExportBundle(), getResamplePeriod(), null,
+				maxVelocity, maxAcceleration, trackWidth, gameName, outputDir);
+	}
+
+	public Unit<Length> getLengthUnit() {
+		return PathUnits.getInstance().length(this.lengthUnit);
+	}
+
+	public ExportUnit getExportUnit() {
+		return ExportUnit.fromString(exportUnit);
+	}
+
+	/**
+	 * Returns the file format to export trajectories in. Projects created before the format could be chosen
+	 * export WPILib JSON.
+	 *
+	 * @return The export format.
+	 */
+	public ExportFormat getExportFormat() {
+		return exportFormat == null ? ExportFormat.JSON : ExportFormat.fromString(exportFormat);
+	}
+
+	public boolean isExportBundle() {
+		return Boolean.TRUE.equals(exportBundle);
+	}
+
+	/**
+	 * Returns the time between exported states. Projects created before trajectories could be resampled
+	 * export the generated states.
+	 *
+	 * @return The resample period in seconds, or 0 if trajectories are not resampled.
+	 */
+	public double getResamplePeriod() {
+		return resamplePeriod == null ? 0 : resamplePeriod;
+	}
+
+	/**
+	 * Returns the tolerances for removing exported states, with lengths in the project unit.
+	 *
+	 * @return The decimation tolerances, or null if every state is exported.
+	 */
+	public DecimationTolerance getDecimation() {
+		return decimation;
+	}
+
+	public double getMaxVelocity() {
+		return maxVelocity;
+	}
+
+	public double getMaxAcceleration() {
+		return maxAcceleration;
+	}
+
+	public double getTrackWidth() {
+		return trackWidth;
+	}
+
+	public String getGameName() {
+		return gameName;
+	}
+
+	public String getOutputDir() {
+		return outputDir;
+	}
+
+	/**
+	 * Converts these values to the settings used to export trajectories.
+	 *
+	 * @param fieldLength
+	 *            The length of the short side of the field
+	 * @return The export settings, in the export unit.
+	 */
+	public ExportSettings getExportSettings(Quantity<Length> fieldLength) {
+		Unit<Length> unit = getLengthUnit();
+		// If the export type is different (i.e. meters), then we have to convert it. Otherwise we are good.
+		UnitConverter converter = getExportUnit() == ExportUnit.METER
+				? unit.getConverterTo(PathUnits.METER)
+				: unit.getConverterTo(unit);
+		double height = fieldLength.to(unit).getValue().doubleValue();
+		return new ExportSettings(converter.convert(maxVelocity), converter.convert(maxAcceleration),
+				converter.convert(trackWidth), converter.convert(height), converter)
+				.withFormat(getExportFormat())
+				.withBundle(isExportBundle())
+				.withResamplePeriod(getResamplePeriod())
+				.withDecimation(decimation == null ? null : decimation.convertLengths(converter));
+	}
+
+	/**
+	 * Returns the folder a project outputs the generated paths to.
+	 *
+	 * @param directory
+	 *            Path to project folder.
+	 * @return File object of Folder to output generated paths to.
+	 */
+	public File getOutputDirectory(String directory) {
+		if (outputDir == null || outputDir.isBlank()) {
+			File parentDirectory = new File(directory).getParentFile();
+			return getOutputDirectory(parentDirectory);
+		} else {
+			File output = new File(directory, outputDir);
+			return getOutputDirectory(output);
+		}
+	}
+
+	/**
+	 * Returns the output directory relative to a specified directory. If the
+	 * directory is an FRC project, it returns the proper deploy directory.
+	 * Otherwise it simply returns the output subdirectory.
+	 *
+	 * @param directory
+	 *            Directory to return output directory for.
+	 * @return A File that is the output directory.
+	 */
+	private static File getOutputDirectory(File directory) {
+		if (isFRCProject(directory)) {
+			return getDeployDirectory(directory);
+		} else {
+			return new File(directory, "output");
+		}
+	}
+
+	private static File getDeployDirectory(File directory) {
+		return new File(directory, "src/main/deploy/paths");
+	}
+
+	private static boolean isFRCProject(File directory) {
+		return new File(directory, "build.gradle").exists();
+	}
+}
@@ -0,0 +1,162 @@
+package edu.wpi.first.pathweaver.build;
+
+import edu.wpi.first.pathweaver.export.ExportSettings;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+import java.util.OptionalDouble;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A persistent record of which exported trajectories are up to date.
+ *
+ * <p>Each path is keyed by a SHA-256 hash of its ".path" file, the {@link ExportSettings} it was generated with and
+ * the directory it was written to. A path whose key matches the key stored by its last successful build, and whose
+ * outputs still exist, does not need to be generated again. The entry also keeps the duration of the trajectory,
+ * so the {@link edu.wpi.first.pathweaver.export.ExportManifest} can list paths that were not rebuilt.
+ */
+public class BuildCache {
+    private static final Logger LOGGER = Logger.getLogger(BuildCache.class.getName());
+    private static final String KEY_EXTENSION = ".sha256";
+    private static final String RECORDS_EXTENSION = ".states";
+    /**
+     * Bump this whenever the generated output changes for the same inputs, to invalidate existing caches.
+     */
+    private static final int VERSION = 2;
+
+    private final Path directory;
+
+    /**
+     * Creates a cache that stores its entries in the given directory.
+     *
+     * @param directory the cache directory
+     */
+    public BuildCache(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Creates the cache for a PathWeaver project, stored in {@code <project>/.pathweaver/cache}.
+     *
+     * @param projectDirectory the project directory
+     * @return the project's build cache
+     */
+    public static BuildCache forProject(Path projectDirectory) {
+        return new BuildCache(projectDirectory.resolve(".pathweaver").resolve("cache"));
+    }
+
+    /**
+     * Computes the cache key of a path.
+     *
+     * @param pathFile        the contents of the ".path" file
+     * @param settings        the settings the path is exported with
+     * @param outputDirectory the directory the path is exported to
+     * @return the hex encoded key
+     */
+    public String key(byte[] pathFile, ExportSettings settings, Path outputDirectory) {
+        MessageDigest digest = newDigest();
+        digest.update((byte) VERSION);
+        digest.update(pathFile);
+        settings.updateDigest(digest);
+        digest.update(outputDirectory.toAbsolutePath().normalize().toString().getBytes(StandardCharsets.UTF_8));
+        return toHex(digest.digest());
+    }
+
+    /**
+     * Checks whether a path's outputs are up to date.
+     *
+     * @param name    the name of the path, without extension
+     * @param key     the current key of the path
+     * @param outputs the files the path is exported to
+     * @return true if the last successful build used the same key and all outputs still exist
+     */
+    public boolean isFresh(String name, String key, List<Path> outputs) {
+        List<String> lines = readEntry(directory.resolve(name + KEY_EXTENSION));
+        if (lines.size() < 2 || !key.equals(lines.get(0))) {
+            return false;
+        }
+        return outputs.stream().allMatch(Files::isRegularFile);
+    }
+
+    /**
+     * Reads the duration of a path's trajectory stored by its last successful build.
+     *
+     * @param name the name of the path, without extension
+     * @return the duration in seconds, or empty if the path has no valid entry
+     */
+    public OptionalDouble duration(String name) {
+        List<String> lines = readEntry(directory.resolve(name + KEY_EXTENSION));
+        if (lines.size() < 2) {
+            return OptionalDouble.empty();
+        }
+        try {
+            return OptionalDouble.of(Double.parseDouble(lines.get(1)));
+        } catch (NumberFormatException e) {
+            return OptionalDouble.empty();
+        }
+    }
+
+    /**
+     * Records a successful build of a path.
+     *
+     * @param name     the name of the path, without extension
+     * @param key      the key the path was built with
+     * @param duration the duration of the exported trajectory, in seconds
+     */
+    public void store(String name, String key, double duration) {
+        Path entry = directory.resolve(name + KEY_EXTENSION);
+        try {
+            Files.createDirectories(directory);
+            Files.writeString(entry, key + "\n" + duration + "\n", StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            // A missing entry only costs a rebuild next time
+            LOGGER.log(Level.WARNING, "Could not write cache entry " + entry, e);
+        }
+    }
+
+    /**
+     * Gets the file that keeps the {@link edu.wpi.first.pathweaver.export.TrajectoryBundle} records of a path
+     * between builds.
+     *
+     * @param name the name of the path, without extension
+     * @return the records file
+     */
+    public Path recordsFile(String name) {
+        return directory.resolve(name + RECORDS_EXTENSION);
+    }
+
+    private static List<String> readEntry(Path entry) {
+        if (!Files.isRegularFile(entry)) {
+            return List.of();
+        }
+        try {
+            return Files.readAllLines(entry, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Could not read cache entry " + entry, e);
+            return List.of();
+        }
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform is required to support SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String toHex(byte[] bytes) {
+        StringBuilder builder = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            builder.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return builder.toString();
+    }
+}
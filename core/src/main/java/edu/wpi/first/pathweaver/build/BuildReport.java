@@ -0,0 +1,76 @@
+package edu.wpi.first.pathweaver.build;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * The outcome of a whole build: the result of every path, and the problems with the files shared by every path, such
+ * as the bundle and the manifest. Shared files are not paths, so their problems are kept apart from the path results.
+ */
+public final class BuildReport {
+    private final List<BuildResult> results;
+    private final List<String> errors;
+    private final boolean cancelled;
+
+    /**
+     * Creates a build report.
+     *
+     * @param results   the result of every path, in the order they were requested
+     * @param errors    why shared files could not be written
+     * @param cancelled whether the build was cancelled
+     */
+    public BuildReport(List<BuildResult> results, List<String> errors, boolean cancelled) {
+        this.results = List.copyOf(results);
+        this.errors = List.copyOf(errors);
+        this.cancelled = cancelled;
+    }
+
+    /**
+     * The result of every path.
+     *
+     * @return one result per path, in the order they were requested
+     */
+    public List<BuildResult> getResults() {
+        return results;
+    }
+
+    /**
+     * The results of the paths that could not be exported.
+     *
+     * @return the failed results, in the order they were requested
+     */
+    public List<BuildResult> getFailures() {
+        return results.stream().filter(result -> !result.isSuccess()).collect(Collectors.toList());
+    }
+
+    /**
+     * Counts the paths that were already up to date.
+     *
+     * @return the number of cached results
+     */
+    public long getCachedCount() {
+        return results.stream().filter(BuildResult::isCached).count();
+    }
+
+    /**
+     * Why the files shared by every path could not be written.
+     *
+     * @return the errors, or an empty list if every shared file was written or none was needed
+     */
+    public List<String> getErrors() {
+        return errors;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Checks whether every path and every shared file was exported.
+     *
+     * @return true if nothing failed and the build was not cancelled
+     */
+    public boolean isSuccess() {
+        return !cancelled && errors.isEmpty() && results.stream().allMatch(BuildResult::isSuccess);
+    }
+}
@@ -0,0 +1,161 @@
+package edu.wpi.first.pathweaver.build;
+
+import edu.wpi.first.pathweaver.export.DecimationReport;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalDouble;
+import java.util.stream.Collectors;
+
+/**
+ * The outcome of building a single path.
+ */
+public final class BuildResult {
+    /**
+     * The message of paths that were not built because the build was cancelled.
+     */
+    public static final String CANCELLED = "Build cancelled";
+
+    private final String pathName;
+    private final boolean success;
+    private final boolean cached;
+    private final String message;
+    private final double duration;
+    private final double resampleError;
+    private final DecimationReport decimation;
+
+    private BuildResult(String pathName, boolean success, boolean cached, String message, double duration,
+                        double resampleError, DecimationReport decimation) {
+        this.pathName = pathName;
+        this.success = success;
+        this.cached = cached;
+        this.message = message;
+        this.duration = duration;
+        this.resampleError = resampleError;
+        this.decimation = decimation;
+    }
+
+    /**
+     * Creates the result of a path that was exported.
+     *
+     * @param pathName the name of the path, without extension
+     * @param duration the duration of the exported trajectory, in seconds
+     * @return the result
+     */
+    public static BuildResult success(String pathName, double duration) {
+        return new BuildResult(pathName, true, false, "", duration, Double.NaN, null);
+    }
+
+    /**
+     * Creates the result of a path whose exported trajectory was already up to date.
+     *
+     * @param pathName the name of the path, without extension
+     * @param duration the duration of the exported trajectory, in seconds
+     * @return the result
+     */
+    public static BuildResult cached(String pathName, double duration) {
+        return new BuildResult(pathName, true, true, "", duration, Double.NaN, null);
+    }
+
+    /**
+     * Creates the result of a path that could not be exported.
+     *
+     * @param pathName the name of the path, without extension
+     * @param message  why the path could not be exported
+     * @return the result
+     */
+    public static BuildResult failure(String pathName, String message) {
+        return new BuildResult(pathName, false, false, message, Double.NaN, Double.NaN, null);
+    }
+
+    public String getPathName() {
+        return pathName;
+    }
+
+    public boolean isSuccess() {
+        return success;
+    }
+
+    public boolean isCached() {
+        return cached;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    /**
+     * Creates a copy of this result for a path that was resampled.
+     *
+     * @param resampleError the largest interpolation error of the resampled trajectory, in export units
+     * @return the new result
+     */
+    public BuildResult withResampleError(double resampleError) {
+        return new BuildResult(pathName, success, cached, message, duration, resampleError, decimation);
+    }
+
+    /**
+     * Creates a copy of this result for a path that was decimated.
+     *
+     * @param decimation the size of the trajectory before and after decimation
+     * @return the new result
+     */
+    public BuildResult withDecimation(DecimationReport decimation) {
+        return new BuildResult(pathName, success, cached, message, duration, resampleError, decimation);
+    }
+
+    /**
+     * The duration of the exported trajectory.
+     *
+     * @return the duration in seconds, or NaN if the path could not be exported
+     */
+    public double getDuration() {
+        return duration;
+    }
+
+    /**
+     * The largest distance between the generated trajectory and linear interpolation of its resampled states.
+     *
+     * @return the interpolation error in export units, or NaN if the path was not resampled in this build
+     */
+    public double getResampleError() {
+        return resampleError;
+    }
+
+    /**
+     * Finds the largest interpolation error of the paths resampled in a build.
+     *
+     * @param results the results of a build
+     * @return the largest error in export units, or empty if no path was resampled
+     */
+    public static OptionalDouble maxResampleError(List<BuildResult> results) {
+        return results.stream().mapToDouble(BuildResult::getResampleError).filter(error -> !Double.isNaN(error))
+                .max();
+    }
+
+    /**
+     * The size of the trajectory before and after decimation.
+     *
+     * @return the decimation report, or empty if the path was not decimated in this build
+     */
+    public Optional<DecimationReport> getDecimation() {
+        return Optional.ofNullable(decimation);
+    }
+
+    /**
+     * Adds up the decimation reports of the paths decimated in a build.
+     *
+     * @param results the results of a build
+     * @return the total, or empty if no path was decimated
+     */
+    public static Optional<DecimationReport> totalDecimation(List<BuildResult> results) {
+        List<DecimationReport> reports = results.stream().map(BuildResult::getDecimation)
+                .flatMap(Optional::stream).collect(Collectors.toList());
+        return reports.isEmpty() ? Optional.empty() : Optional.of(DecimationReport.total(reports));
+    }
+
+    @Override
+    public String toString() {
+        return success ? pathName : pathName + ": " + message;
+    }
+}
@@ -0,0 +1,101 @@
+package edu.wpi.first.pathweaver.build;
+
+import edu.wpi.first.fields.FieldConfig;
+import edu.wpi.first.fields.Fields;
+import edu.wpi.first.pathweaver.PathUnits;
+import tech.units.indriya.quantity.Quantities;
+
+import java.io.IOException;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import javax.measure.Quantity;
+import javax.measure.quantity.Length;
+
+/**
+ * Finds the size of a game's field without loading its image, looking at the same games as the editor: the WPILib
+ * fields first, then the game extensions.
+ */
+public final class FieldLookup {
+    private static final Logger LOGGER = Logger.getLogger(FieldLookup.class.getName());
+
+    private FieldLookup() {
+        throw new UnsupportedOperationException("This is a utility class!");
+    }
+
+    /**
+     * Gets the name of the game new projects default to.
+     *
+     * @return the name of the default WPILib field's game
+     */
+    public static String defaultGameName() {
+        return FieldConfig.loadField(Fields.kDefaultField).m_game;
+    }
+
+    /**
+     * Finds the length of the short side of a game's field.
+     *
+     * @param gameName            the name of the game
+     * @param extensionsDirectory the directory of game extensions, which are directories or zip files of field
+     *                            definitions
+     * @return the length of the field
+     * @throws IOException              if the extensions could not be read
+     * @throws IllegalArgumentException if no field is defined for the game
+     */
+    public static Quantity<Length> findFieldLength(String gameName, Path extensionsDirectory) throws IOException {
+        for (Fields fieldType : Fields.values()) {
+            FieldConfig config = FieldConfig.loadField(fieldType);
+            if (gameName.equals(config.m_game)) {
+                return fieldLength(config);
+            }
+        }
+
+        List<Path> entries;
+        try (Stream<Path> files = Files.list(extensionsDirectory)) {
+            entries = files.sorted().collect(Collectors.toList());
+        }
+        for (Path entry : entries) {
+            Optional<FieldConfig> config = Optional.empty();
+            if (Files.isDirectory(entry)) {
+                config = findConfig(entry, gameName);
+            } else if (entry.toString().endsWith(".zip")) {
+                try (FileSystem zip = FileSystems.newFileSystem(entry, (ClassLoader) null)) {
+                    config = findConfig(zip.getPath("/"), gameName);
+                }
+            }
+            if (config.isPresent()) {
+                return fieldLength(config.get());
+            }
+        }
+        throw new IllegalArgumentException("The referenced game is unknown: \"" + gameName + "\"");
+    }
+
+    private static Optional<FieldConfig> findConfig(Path directory, String gameName) throws IOException {
+        List<Path> jsonFiles;
+        try (Stream<Path> files = Files.list(directory)) {
+            jsonFiles = files.filter(file -> file.toString().endsWith(".json")).collect(Collectors.toList());
+        }
+        for (Path jsonFile : jsonFiles) {
+            try {
+                FieldConfig config = FieldConfig.loadFromFile(jsonFile);
+                if (gameName.equals(config.m_game)) {
+                    return Optional.of(config);
+                }
+            } catch (IOException e) {
+                LOGGER.log(Level.FINE, "Not a game extension: " + jsonFile, e);
+            }
+        }
+        return Optional.empty();
+    }
+
+    private static Quantity<Length> fieldLength(FieldConfig config) {
+        return Quantities.getQuantity(config.m_fieldSize[1], PathUnits.getInstance().length(config.m_fieldUnit));
+    }
+}
@@ -0,0 +1,315 @@
+package edu.wpi.first.pathweaver.build;
+
+import edu.wpi.first.math.trajectory.Trajectory;
+import edu.wpi.first.pathweaver.export.DecimationReport;
+import edu.wpi.first.pathweaver.export.ExportManifest;
+import edu.wpi.first.pathweaver.export.ExportSettings;
+import edu.wpi.first.pathweaver.export.TrajectoryBundle;
+import edu.wpi.first.pathweaver.export.TrajectoryDecimator;
+import edu.wpi.first.pathweaver.export.TrajectoryExporter;
+import edu.wpi.first.pathweaver.export.TrajectoryResampler;
+import edu.wpi.first.pathweaver.path.ControlPoint;
+import edu.wpi.first.pathweaver.path.PathCsvUtil;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalDouble;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+/**
+ * Exports the trajectories of many paths in parallel.
+ *
+ * <p>The ".path" files are read when a build starts, so saving a path while the build runs does not affect it. Each
+ * path is parsed straight into {@link ControlPoint}s, so no JavaFX objects are created and the build can run
+ * entirely off the JavaFX application thread. Every path is generated with the same {@link ExportSettings}
+ * snapshot, and a failure in one path does not affect the others. Paths whose {@link BuildCache} entry is still
+ * fresh are skipped.
+ *
+ * <p>Trajectories are resampled with {@link TrajectoryResampler} or decimated with {@link TrajectoryDecimator}
+ * before they are written if the settings ask for it, so every format and the bundle hold the same states. If the
+ * settings ask for a {@link TrajectoryBundle}, it is written once every path is built, followed by the
+ * {@link ExportManifest}. Problems with these shared files are reported as errors of the {@link BuildReport}, apart
+ * from the results of the paths. Exported files are only replaced when their contents change.
+ *
+ * <p>A build can be {@link #cancel() cancelled}. Paths that are being generated are finished, but no new path is
+ * started and the bundle and manifest are not written.
+ */
+public class PathBuilder {
+    private static final Logger LOGGER = Logger.getLogger(PathBuilder.class.getName());
+    private static final String PATH_EXTENSION = ".path";
+    private static final ForkJoinPool POOL = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+
+    private final ExportSettings settings;
+    private final BuildCache cache;
+    private final Executor executor;
+    private final AtomicBoolean cancelled = new AtomicBoolean();
+
+    /**
+     * Receives the progress of a build. Methods may be called from any thread, usually a worker thread.
+     */
+    public interface Listener {
+        /**
+         * Called when a path starts building.
+         *
+         * @param name the name of the path, without extension
+         */
+        default void pathStarted(String name) {
+        }
+
+        /**
+         * Called when a path has been built, skipped or failed.
+         *
+         * @param result the result of the path
+         */
+        default void pathFinished(BuildResult result) {
+        }
+    }
+
+    /**
+     * Creates a PathBuilder that uses one worker thread per available processor.
+     *
+     * @param settings the settings to export every path with
+     * @param cache    the cache of up to date paths
+     */
+    public PathBuilder(ExportSettings settings, BuildCache cache) {
+        this(settings, cache, POOL);
+    }
+
+    /**
+     * Creates a PathBuilder.
+     *
+     * @param settings the settings to export every path with
+     * @param cache    the cache of up to date paths
+     * @param executor the executor to build paths on
+     */
+    public PathBuilder(ExportSettings settings, BuildCache cache, Executor executor) {
+        this.settings = settings;
+        this.cache = cache;
+        this.executor = executor;
+    }
+
+    /**
+     * Builds the given paths asynchronously.
+     *
+     * @param pathDirectory   the directory containing the ".path" files
+     * @param pathNames       the file names of the paths to build
+     * @param outputDirectory the directory to write the trajectories to
+     * @return a future completed with the report of the build, with one result per path in the order of
+     *         {@code pathNames}
+     */
+    public CompletableFuture<BuildReport> build(Path pathDirectory, List<String> pathNames, Path outputDirectory) {
+        return build(pathDirectory, pathNames, outputDirectory, new Listener() { });
+    }
+
+    /**
+     * Builds the given paths asynchronously, reporting progress to a listener. The ".path" files are read before
+     * this method returns.
+     *
+     * @param pathDirectory   the directory containing the ".path" files
+     * @param pathNames       the file names of the paths to build
+     * @param outputDirectory the directory to write the trajectories to
+     * @param listener        the listener to report progress to
+     * @return a future completed with the report of the build, with one result per path in the order of
+     *         {@code pathNames}
+     */
+    public CompletableFuture<BuildReport> build(Path pathDirectory, List<String> pathNames, Path outputDirectory,
+                                                Listener listener) {
+        try {
+            Files.createDirectories(outputDirectory);
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Could not export to " + outputDirectory, e);
+        }
+
+        long start = System.nanoTime();
+        List<CompletableFuture<BuildResult>> tasks = new ArrayList<>(pathNames.size());
+        for (String pathName : pathNames) {
+            String name = pathName(pathName);
+            Path pathFile = pathDirectory.resolve(pathName);
+            byte[] contents;
+            try {
+                contents = Files.readAllBytes(pathFile);
+            } catch (IOException e) {
+                LOGGER.log(Level.WARNING, "Could not read Path file " + pathFile, e);
+                BuildResult failure = BuildResult.failure(name, "Could not read " + pathFile.getFileName());
+                listener.pathFinished(failure);
+                tasks.add(CompletableFuture.completedFuture(failure));
+                continue;
+            }
+            tasks.add(CompletableFuture
+                    .supplyAsync(() -> {
+                        if (cancelled.get()) {
+                            return BuildResult.failure(name, BuildResult.CANCELLED);
+                        }
+                        listener.pathStarted(name);
+                        return buildPath(name, pathFile, contents, outputDirectory);
+                    }, executor)
+                    .exceptionally(e -> {
+                        LOGGER.log(Level.WARNING, "Could not build " + pathName, e);
+                        return BuildResult.failure(name, String.valueOf(e.getMessage()));
+                    })
+                    .thenApply(result -> {
+                        listener.pathFinished(result);
+                        return result;
+                    }));
+        }
+        return CompletableFuture.allOf(tasks.toArray(new CompletableFuture<?>[0]))
+                .thenApply(ignored -> {
+                    List<BuildResult> results = tasks.stream().map(CompletableFuture::join)
+                            .collect(Collectors.toList());
+                    if (cancelled.get()) {
+                        LOGGER.info(String.format("Build cancelled after %d ms",
+                                (System.nanoTime() - start) / 1_000_000));
+                        return new BuildReport(results, List.of(), true);
+                    }
+                    List<String> errors = new ArrayList<>();
+                    List<Path> sharedFiles = new ArrayList<>();
+                    if (settings.isBundle()) {
+                        Optional<String> error = writeBundle(results, outputDirectory);
+                        error.ifPresentOrElse(errors::add,
+                                () -> sharedFiles.add(outputDirectory.resolve(TrajectoryBundle.FILE_NAME)));
+                    }
+                    writeManifest(results, sharedFiles, outputDirectory).ifPresent(errors::add);
+                    BuildReport report = new BuildReport(results, errors, false);
+                    long cached = report.getCachedCount();
+                    LOGGER.info(String.format("Built %d paths in %d ms (%d up to date, %d rebuilt, %d failed)",
+                            results.size(), (System.nanoTime() - start) / 1_000_000, cached,
+                            results.size() - report.getFailures().size() - cached, report.getFailures().size()));
+                    return report;
+                });
+    }
+
+    /**
+     * Stops the build. Paths that have not started are not built, and their results are failures with the message
+     * {@link BuildResult#CANCELLED}.
+     */
+    public void cancel() {
+        cancelled.set(true);
+    }
+
+    public boolean isCancelled() {
+        return cancelled.get();
+    }
+
+    private BuildResult buildPath(String name, Path pathFile, byte[] contents, Path outputDirectory) {
+        Path output = outputDirectory.resolve(name);
+        String key = cache.key(contents, settings, outputDirectory);
+        List<Path> outputs = new ArrayList<>(TrajectoryExporter.outputFiles(output, settings));
+        if (settings.isBundle()) {
+            outputs.add(cache.recordsFile(name));
+        }
+        OptionalDouble cachedDuration = cache.duration(name);
+        if (cachedDuration.isPresent() && cache.isFresh(name, key, outputs)) {
+            return BuildResult.cached(name, cachedDuration.getAsDouble());
+        }
+
+        List<ControlPoint> points;
+        try {
+            points = PathCsvUtil.readControlPoints(
+                    new InputStreamReader(new ByteArrayInputStream(contents), StandardCharsets.UTF_8));
+        } catch (IOException | IllegalArgumentException e) {
+            LOGGER.log(Level.WARNING, "Could not read Path file " + pathFile, e);
+            return BuildResult.failure(name, "Could not read " + pathFile.getFileName());
+        }
+        if (points.size() < 2) {
+            return BuildResult.failure(name, "A path needs at least two waypoints");
+        }
+
+        List<String> errors = new ArrayList<>();
+        Trajectory trajectory = TrajectoryExporter.generate(points, settings, (error, stackTrace) -> {
+            LOGGER.log(Level.WARNING, "Could not generate trajectory for " + name + ". " + error, stackTrace);
+            errors.add(error);
+        });
+        BuildResult result = BuildResult.success(name, trajectory.getTotalTimeSeconds());
+        if (settings.isResampled()) {
+            Trajectory resampled = TrajectoryResampler.resample(trajectory, settings.getResamplePeriod());
+            result = result.withResampleError(TrajectoryResampler.maxInterpolationError(trajectory, resampled));
+            trajectory = resampled;
+        } else if (settings.isDecimated()) {
+            Trajectory decimated = TrajectoryDecimator.decimate(trajectory, settings.getDecimation());
+            DecimationReport decimation = TrajectoryExporter.report(trajectory, decimated, settings);
+            LOGGER.info("Decimated " + name + ": " + decimation);
+            result = result.withDecimation(decimation);
+            trajectory = decimated;
+        }
+        try {
+            if (TrajectoryExporter.write(trajectory, output, settings) == 0) {
+                LOGGER.fine(() -> "Exported files of " + name + " did not change");
+            }
+            if (settings.isBundle()) {
+                TrajectoryBundle.writeRecords(trajectory, settings.getFieldHeight(), cache.recordsFile(name));
+            }
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Could not write Spline to file: " + name, e);
+            return BuildResult.failure(name, "Could not write to " + outputDirectory.toAbsolutePath());
+        }
+        if (!errors.isEmpty()) {
+            return BuildResult.failure(name, errors.get(0));
+        }
+        cache.store(name, key, result.getDuration());
+        return result;
+    }
+
+    /**
+     * Writes the bundle of every exported path.
+     *
+     * @return why the bundle could not be written, or empty if it was written
+     */
+    private Optional<String> writeBundle(List<BuildResult> results, Path outputDirectory) {
+        List<String> names = results.stream().filter(BuildResult::isSuccess).map(BuildResult::getPathName)
+                .sorted().collect(Collectors.toList());
+        List<Path> recordFiles = names.stream().map(cache::recordsFile).collect(Collectors.toList());
+        Path bundle = outputDirectory.resolve(TrajectoryBundle.FILE_NAME);
+        try {
+            TrajectoryBundle.write(bundle, names, recordFiles);
+            return Optional.empty();
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Could not write trajectory bundle " + bundle, e);
+            return Optional.of("Could not write the bundle " + TrajectoryBundle.FILE_NAME);
+        }
+    }
+
+    /**
+     * Writes the manifest of every exported path and shared file.
+     *
+     * @return why the manifest could not be written, or empty if it was written
+     */
+    private Optional<String> writeManifest(List<BuildResult> results, List<Path> sharedFiles, Path outputDirectory) {
+        List<ExportManifest.Entry> entries = results.stream().filter(BuildResult::isSuccess)
+                .map(result -> new ExportManifest.Entry(result.getPathName(), result.getDuration(),
+                        TrajectoryExporter.outputFiles(outputDirectory.resolve(result.getPathName()), settings)))
+                .collect(Collectors.toList());
+        try {
+            ExportManifest.write(outputDirectory, entries, sharedFiles);
+            return Optional.empty();
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Could not write export manifest in " + outputDirectory, e);
+            return Optional.of("Could not write the manifest " + ExportManifest.FILE_NAME);
+        }
+    }
+
+    /**
+     * Gets the name a path is reported by, in its {@link BuildResult} and to a {@link Listener}.
+     *
+     * @param fileName the file name of the path
+     * @return the file name without the ".path" extension
+     */
+    public static String pathName(String fileName) {
+        if (fileName.endsWith(PATH_EXTENSION)) {
+            return fileName.substring(0, fileName.length() - PATH_EXTENSION.length());
+        }
+        return fileName;
+    }
+}
@@ -0,0 +1,71 @@
+package edu.wpi.first.pathweaver.export;
+
+import java.util.Collection;
+import java.util.Locale;
+
+/**
+ * The size of a trajectory before and after {@link TrajectoryDecimator} removed states from it.
+ */
+public final class DecimationReport {
+    private final int statesBefore;
+    private final int statesAfter;
+    private final long bytesBefore;
+    private final long bytesAfter;
+
+    /**
+     * Creates a report.
+     *
+     * @param statesBefore the number of generated states
+     * @param statesAfter  the number of states left after decimation
+     * @param bytesBefore  the size of the exported files if the generated states were written
+     * @param bytesAfter   the size of the exported files
+     */
+    public DecimationReport(int statesBefore, int statesAfter, long bytesBefore, long bytesAfter) {
+        this.statesBefore = statesBefore;
+        this.statesAfter = statesAfter;
+        this.bytesBefore = bytesBefore;
+        this.bytesAfter = bytesAfter;
+    }
+
+    /**
+     * Adds up the reports of several trajectories.
+     *
+     * @param reports the reports to add up
+     * @return the total
+     */
+    public static DecimationReport total(Collection<DecimationReport> reports) {
+        int statesBefore = 0;
+        int statesAfter = 0;
+        long bytesBefore = 0;
+        long bytesAfter = 0;
+        for (DecimationReport report : reports) {
+            statesBefore += report.statesBefore;
+            statesAfter += report.statesAfter;
+            bytesBefore += report.bytesBefore;
+            bytesAfter += report.bytesAfter;
+        }
+        return new DecimationReport(statesBefore, statesAfter, bytesBefore, bytesAfter);
+    }
+
+    public int getStatesBefore() {
+        return statesBefore;
+    }
+
+    public int getStatesAfter() {
+        return statesAfter;
+    }
+
+    public long getBytesBefore() {
+        return bytesBefore;
+    }
+
+    public long getBytesAfter() {
+        return bytesAfter;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT, "%d -> %d states, %d -> %d bytes", statesBefore, statesAfter, bytesBefore,
+                bytesAfter);
+    }
+}
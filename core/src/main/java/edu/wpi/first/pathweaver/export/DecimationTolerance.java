@@ -0,0 +1,53 @@
+package edu.wpi.first.pathweaver.export;
+
+import javax.measure.UnitConverter;
+
+/**
+ * How far a trajectory rebuilt by interpolating between the states left by {@link TrajectoryDecimator} may stray
+ * from the generated trajectory.
+ */
+public final class DecimationTolerance {
+    private final double position;
+    private final double heading;
+    private final double velocity;
+
+    /**
+     * Creates decimation tolerances.
+     *
+     * @param position the largest position error, in length units
+     * @param heading  the largest heading error, in radians
+     * @param velocity the largest velocity error, in length units per second
+     * @throws IllegalArgumentException if a tolerance is not positive
+     */
+    public DecimationTolerance(double position, double heading, double velocity) {
+        if (!(position > 0 && heading > 0 && velocity > 0)) {
+            throw new IllegalArgumentException(
+                    "Decimation tolerances must be positive: " + position + ", " + heading + ", " + velocity);
+        }
+        this.position = position;
+        this.heading = heading;
+        this.velocity = velocity;
+    }
+
+    /**
+     * Converts the position and velocity tolerances to another length unit.
+     *
+     * @param converter converts lengths from the unit of these tolerances to the new unit
+     * @return the converted tolerances
+     */
+    public DecimationTolerance convertLengths(UnitConverter converter) {
+        return new DecimationTolerance(converter.convert(position), heading, converter.convert(velocity));
+    }
+
+    public double getPosition() {
+        return position;
+    }
+
+    public double getHeading() {
+        return heading;
+    }
+
+    public double getVelocity() {
+        return velocity;
+    }
+}
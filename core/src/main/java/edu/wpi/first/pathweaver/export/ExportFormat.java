@@ -0,0 +1,67 @@
+package edu.wpi.first.pathweaver.export;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * The file formats trajectories can be exported in.
+ */
+public enum ExportFormat {
+    JSON("WPILib JSON", true, false),
+    PROTOBUF("Protobuf", false, true),
+    JSON_AND_PROTOBUF("WPILib JSON and Protobuf", true, true);
+
+    private static final Map<String, ExportFormat> STRING_EXPORT_FORMAT_MAP =
+            Arrays.stream(values()).collect(Collectors.toMap(ExportFormat::getName, Function.identity()));
+
+    private final String name;
+    private final boolean json;
+    private final boolean protobuf;
+
+    ExportFormat(String name, boolean json, boolean protobuf) {
+        this.name = name;
+        this.json = json;
+        this.protobuf = protobuf;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Whether trajectories are written to ".wpilib.json" files.
+     *
+     * @return true if JSON files are written
+     */
+    public boolean writesJson() {
+        return json;
+    }
+
+    /**
+     * Whether trajectories are written to ".wpilib.pb" files.
+     *
+     * @return true if protobuf files are written
+     */
+    public boolean writesProtobuf() {
+        return protobuf;
+    }
+
+    /**
+     * Gets the format with the given name.
+     *
+     * @param s the name of the format
+     * @return the format
+     * @throws IllegalArgumentException if no format has that name
+     */
+    public static ExportFormat fromString(String s) {
+        ExportFormat result = STRING_EXPORT_FORMAT_MAP.get(s);
+
+        if (result == null) {
+            throw new IllegalArgumentException("Unknown export format: " + s);
+        }
+
+        return result;
+    }
+}
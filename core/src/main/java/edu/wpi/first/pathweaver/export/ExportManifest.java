@@ -0,0 +1,124 @@
+package edu.wpi.first.pathweaver.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Writes "manifest.json", which lists every exported file with its SHA-256 hash and size, so robot code and deploy
+ * tools can tell which files changed without reading them.
+ *
+ * <pre>{@code
+ * {
+ *   "version" : 1,
+ *   "trajectories" : [ {
+ *     "name" : "Left Start",
+ *     "duration" : 3.52,
+ *     "files" : [ { "file" : "Left Start.wpilib.json", "size" : 166391, "sha256" : "..." } ]
+ *   } ],
+ *   "files" : [ { "file" : "trajectories.bin", "size" : 42112, "sha256" : "..." } ]
+ * }
+ * }</pre>
+ *
+ * <p>File names are relative to the output directory. "files" lists the files that do not belong to a single
+ * trajectory, such as the {@link TrajectoryBundle}.
+ */
+public final class ExportManifest {
+    public static final String FILE_NAME = "manifest.json";
+    public static final int VERSION = 1;
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private ExportManifest() {
+        throw new UnsupportedOperationException("This is a utility class!");
+    }
+
+    /**
+     * The exported files of one trajectory.
+     */
+    public static final class Entry {
+        private final String name;
+        private final double duration;
+        private final List<Path> files;
+
+        /**
+         * Creates a manifest entry.
+         *
+         * @param name     the name of the trajectory
+         * @param duration the duration of the trajectory, in seconds
+         * @param files    the files the trajectory was exported to
+         */
+        public Entry(String name, double duration, List<Path> files) {
+            this.name = name;
+            this.duration = duration;
+            this.files = List.copyOf(files);
+        }
+    }
+
+    /**
+     * Writes the manifest of an output directory, hashing the exported files as they are on disk. The manifest is
+     * only replaced if it changed.
+     *
+     * @param outputDirectory the directory the trajectories were exported to
+     * @param trajectories    the trajectories in the directory, in the order to list them
+     * @param otherFiles      files in the directory that do not belong to a single trajectory
+     * @return true if the manifest changed
+     * @throws IOException if an exported file could not be read or the manifest could not be written
+     */
+    public static boolean write(Path outputDirectory, List<Entry> trajectories, List<Path> otherFiles)
+            throws IOException {
+        ObjectNode root = MAPPER.createObjectNode();
+        root.put("version", VERSION);
+        ArrayNode trajectoryNodes = root.putArray("trajectories");
+        for (Entry entry : trajectories) {
+            ObjectNode node = trajectoryNodes.addObject();
+            node.put("name", entry.name);
+            node.put("duration", entry.duration);
+            addFiles(node.putArray("files"), outputDirectory, entry.files);
+        }
+        addFiles(root.putArray("files"), outputDirectory, otherFiles);
+
+        Path manifest = outputDirectory.resolve(FILE_NAME);
+        Path written = OutputFiles.tempFile(manifest);
+        MAPPER.writerWithDefaultPrettyPrinter().writeValue(written.toFile(), root);
+        return OutputFiles.replaceIfChanged(manifest, written);
+    }
+
+    private static void addFiles(ArrayNode nodes, Path outputDirectory, List<Path> files) throws IOException {
+        MessageDigest digest = newDigest();
+        byte[] buffer = new byte[BUFFER_SIZE];
+        for (Path file : files) {
+            // Hashed in chunks, so exported files are never held in memory whole
+            long size = 0;
+            try (InputStream in = Files.newInputStream(file)) {
+                for (int read = in.read(buffer); read >= 0; read = in.read(buffer)) {
+                    digest.update(buffer, 0, read);
+                    size += read;
+                }
+            }
+            ObjectNode node = nodes.addObject();
+            node.put("file", outputDirectory.relativize(file).toString().replace('\\', '/'));
+            node.put("size", size);
+            node.put("sha256", HexFormat.of().formatHex(digest.digest()));
+        }
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform is required to support SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package edu.wpi.first.pathweaver.export;
+
+import javax.measure.UnitConverter;
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+
+/**
+ * An immutable snapshot of the project settings that affect exported trajectories. Taking a snapshot before a
+ * build means every path in the build is generated with the same settings, even if the project is edited while
+ * the build is running.
+ *
+ * <p>All values are in the export unit. Waypoint coordinates are stored in the project's length unit and have to
+ * be converted with {@link #getLengthConverter()}.
+ */
+public final class ExportSettings {
+    private final double maxVelocity;
+    private final double maxAcceleration;
+    private final double trackWidth;
+    private final double fieldHeight;
+    private final UnitConverter lengthConverter;
+    private final ExportFormat format;
+    private final boolean bundle;
+    private final double resamplePeriod;
+    private final DecimationTolerance decimation;
+
+    /**
+     * Creates export settings that export WPILib JSON.
+     *
+     * @param maxVelocity     the maximum velocity, in export units per second
+     * @param maxAcceleration the maximum acceleration, in export units per second squared
+     * @param trackWidth      the track width of the drivebase, in export units
+     * @param fieldHeight     the length of the short side of the field, in export units
+     * @param lengthConverter converts lengths from the project unit to the export unit
+     */
+    public ExportSettings(double maxVelocity, double maxAcceleration, double trackWidth, double fieldHeight,
+                          UnitConverter lengthConverter) {
+        this(maxVelocity, maxAcceleration, trackWidth, fieldHeight, lengthConverter, ExportFormat.JSON, false, 0,
+                null);
+    }
+
+    private ExportSettings(double maxVelocity, double maxAcceleration, double trackWidth, double fieldHeight,
+                           UnitConverter lengthConverter, ExportFormat format, boolean bundle,
+                           double resamplePeriod, DecimationTolerance decimation) {
+        this.maxVelocity = maxVelocity;
+        this.maxAcceleration = maxAcceleration;
+        this.trackWidth = trackWidth;
+        this.fieldHeight = fieldHeight;
+        this.lengthConverter = lengthConverter;
+        this.format = format;
+        this.bundle = bundle;
+        this.resamplePeriod = resamplePeriod;
+        this.decimation = decimation;
+    }
+
+    /**
+     * Creates a copy of these settings that exports in a different format.
+     *
+     * @param format the file format to export
+     * @return the new settings
+     */
+    public ExportSettings withFormat(ExportFormat format) {
+        return new ExportSettings(maxVelocity, maxAcceleration, trackWidth, fieldHeight, lengthConverter, format,
+                bundle, resamplePeriod, decimation);
+    }
+
+    /**
+     * Creates a copy of these settings that does or does not write a {@link TrajectoryBundle}.
+     *
+     * @param bundle whether to write every trajectory into one bundle file as well
+     * @return the new settings
+     */
+    public ExportSettings withBundle(boolean bundle) {
+        return new ExportSettings(maxVelocity, maxAcceleration, trackWidth, fieldHeight, lengthConverter, format,
+                bundle, resamplePeriod, decimation);
+    }
+
+    /**
+     * Creates a copy of these settings that does or does not resample trajectories onto a uniform time grid with
+     * {@link TrajectoryResampler}.
+     *
+     * @param resamplePeriod the time between exported states in seconds, or 0 to export the generated states
+     * @return the new settings
+     */
+    public ExportSettings withResamplePeriod(double resamplePeriod) {
+        return new ExportSettings(maxVelocity, maxAcceleration, trackWidth, fieldHeight, lengthConverter, format,
+                bundle, resamplePeriod, decimation);
+    }
+
+    /**
+     * Creates a copy of these settings that does or does not remove states with {@link TrajectoryDecimator}.
+     * Resampled trajectories are not decimated, since removing states would break their uniform time grid.
+     *
+     * @param decimation the decimation tolerances in export units, or null to export every state
+     * @return the new settings
+     */
+    public ExportSettings withDecimation(DecimationTolerance decimation) {
+        return new ExportSettings(maxVelocity, maxAcceleration, trackWidth, fieldHeight, lengthConverter, format,
+                bundle, resamplePeriod, decimation);
+    }
+
+    public double getMaxVelocity() {
+        return maxVelocity;
+    }
+
+    public double getMaxAcceleration() {
+        return maxAcceleration;
+    }
+
+    public double getTrackWidth() {
+        return trackWidth;
+    }
+
+    public double getFieldHeight() {
+        return fieldHeight;
+    }
+
+    public UnitConverter getLengthConverter() {
+        return lengthConverter;
+    }
+
+    public ExportFormat getFormat() {
+        return format;
+    }
+
+    public boolean isBundle() {
+        return bundle;
+    }
+
+    public double getResamplePeriod() {
+        return resamplePeriod;
+    }
+
+    public boolean isResampled() {
+        return resamplePeriod > 0;
+    }
+
+    public DecimationTolerance getDecimation() {
+        return decimation;
+    }
+
+    /**
+     * Whether trajectories are decimated, which only happens if they are not resampled.
+     *
+     * @return true if {@link TrajectoryDecimator} should be run on every trajectory
+     */
+    public boolean isDecimated() {
+        return decimation != null && !isResampled();
+    }
+
+    /**
+     * Adds every setting that affects the exported trajectories to a digest, so that changing any of them changes
+     * the digest.
+     *
+     * @param digest the digest to update
+     */
+    public void updateDigest(MessageDigest digest) {
+        ByteBuffer buffer = ByteBuffer.allocate(9 * Double.BYTES + 2 * Integer.BYTES);
+        buffer.putDouble(maxVelocity)
+                .putDouble(maxAcceleration)
+                .putDouble(trackWidth)
+                .putDouble(fieldHeight)
+                .putDouble(lengthConverter.convert(1.0))
+                .putInt(format.ordinal())
+                .putInt(bundle ? 1 : 0)
+                .putDouble(resamplePeriod)
+                .putDouble(decimation == null ? 0 : decimation.getPosition())
+                .putDouble(decimation == null ? 0 : decimation.getHeading())
+                .putDouble(decimation == null ? 0 : decimation.getVelocity());
+        digest.update(buffer.array());
+    }
+}
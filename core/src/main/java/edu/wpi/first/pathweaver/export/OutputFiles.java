@@ -0,0 +1,64 @@
+package edu.wpi.first.pathweaver.export;
+
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Replaces exported files only when their contents change.
+ *
+ * <p>Deploy tools such as GradleRIO decide what to copy to the robot by modification time, so rewriting a file with
+ * the same bytes makes it deploy again. Files are also replaced by moving a complete file over them, so robot code
+ * never reads a half written trajectory.
+ */
+public final class OutputFiles {
+    private static final String TEMP_EXTENSION = ".tmp";
+
+    private OutputFiles() {
+        throw new UnsupportedOperationException("This is a utility class!");
+    }
+
+    /**
+     * Moves a newly written file over another, unless they have the same contents, in which case the new file is
+     * deleted.
+     *
+     * @param file    the file to replace
+     * @param written the new contents of the file, usually written to {@link #tempFile(Path)}
+     * @return true if the file was replaced, false if it was already up to date
+     * @throws IOException if either file could not be read, moved or deleted
+     */
+    public static boolean replaceIfChanged(Path file, Path written) throws IOException {
+        if (Files.isRegularFile(file) && Files.mismatch(file, written) == -1) {
+            Files.delete(written);
+            return false;
+        }
+        move(written, file);
+        return true;
+    }
+
+    /**
+     * Gets the file to write new contents of a file to before they replace it, creating its parent directories if
+     * needed.
+     *
+     * @param file the file that will be replaced
+     * @return a file in the same directory
+     * @throws IOException if the directory could not be created
+     */
+    public static Path tempFile(Path file) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        return file.resolveSibling(file.getFileName() + TEMP_EXTENSION);
+    }
+
+    private static void move(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
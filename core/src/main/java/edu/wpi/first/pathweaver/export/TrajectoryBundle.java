@@ -0,0 +1,154 @@
+package edu.wpi.first.pathweaver.export;
+
+import edu.wpi.first.math.trajectory.Trajectory;
+import edu.wpi.first.pathweaver.runtime.BundleFormat;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Writes every trajectory of a build into one "trajectories.bin" file that robot code can memory map and read
+ * without parsing or allocating.
+ *
+ * <p>The layout is described in {@link BundleFormat}, and the runtime library reads it with
+ * {@link edu.wpi.first.pathweaver.runtime.TrajectoryBundleReader}.
+ *
+ * <p>Records are first written to one file per trajectory with {@link #writeRecords(Trajectory, double, Path)}, so
+ * a build can reuse the records of paths that did not change.
+ */
+public final class TrajectoryBundle {
+    public static final String FILE_NAME = BundleFormat.FILE_NAME;
+    public static final int MAGIC = BundleFormat.MAGIC;
+    public static final int VERSION = BundleFormat.VERSION;
+    public static final int HEADER_BYTES = BundleFormat.HEADER_BYTES;
+    public static final int INDEX_ENTRY_BYTES = BundleFormat.INDEX_ENTRY_BYTES;
+    public static final int RECORD_BYTES = BundleFormat.RECORD_BYTES;
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private TrajectoryBundle() {
+        throw new UnsupportedOperationException("This is a utility class!");
+    }
+
+    /**
+     * Writes the state records of one trajectory.
+     *
+     * @param trajectory the trajectory to write
+     * @param yOffset    the offset to add to the y coordinate of every state
+     * @param file       the file to write to
+     * @throws IOException if the file could not be written
+     */
+    public static void writeRecords(Trajectory trajectory, double yOffset, Path file) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        ByteBuffer record = ByteBuffer.allocate(RECORD_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file), BUFFER_SIZE)) {
+            for (Trajectory.State state : trajectory.getStates()) {
+                record.clear();
+                record.putDouble(state.timeSeconds)
+                        .putDouble(state.velocityMetersPerSecond)
+                        .putDouble(state.accelerationMetersPerSecondSq)
+                        .putDouble(state.poseMeters.getX())
+                        .putDouble(state.poseMeters.getY() + yOffset)
+                        .putDouble(state.poseMeters.getRotation().getRadians())
+                        .putDouble(state.curvatureRadPerMeter);
+                out.write(record.array());
+            }
+        }
+    }
+
+    /**
+     * Combines record files into a bundle. An existing bundle with the same contents is left untouched.
+     *
+     * @param bundle      the bundle file to write
+     * @param names       the names of the trajectories, sorted
+     * @param recordFiles the record file of each trajectory, in the same order as {@code names}
+     * @return true if the bundle changed
+     * @throws IOException if a record file could not be read or the bundle could not be written
+     */
+    public static boolean write(Path bundle, List<String> names, List<Path> recordFiles) throws IOException {
+        int count = names.size();
+        byte[][] encodedNames = new byte[count][];
+        long[] stateCounts = new long[count];
+        int namesBytes = 0;
+        for (int i = 0; i < count; i++) {
+            encodedNames[i] = names.get(i).getBytes(StandardCharsets.UTF_8);
+            namesBytes += encodedNames[i].length;
+            long size = Files.size(recordFiles.get(i));
+            if (size % RECORD_BYTES != 0) {
+                throw new IOException("Corrupt trajectory records: " + recordFiles.get(i));
+            }
+            stateCounts[i] = size / RECORD_BYTES;
+        }
+        int namesStart = HEADER_BYTES + count * INDEX_ENTRY_BYTES;
+        int statesStart = align(namesStart + namesBytes);
+
+        ByteBuffer head = ByteBuffer.allocate(statesStart).order(ByteOrder.LITTLE_ENDIAN);
+        head.putInt(MAGIC).putInt(VERSION).putInt(count).putInt(0);
+        int nameOffset = namesStart;
+        long stateOffset = statesStart;
+        for (int i = 0; i < count; i++) {
+            head.putInt(nameOffset)
+                    .putInt(encodedNames[i].length)
+                    .putLong(stateOffset)
+                    .putInt(Math.toIntExact(stateCounts[i]))
+                    .putInt(0)
+                    .putDouble(duration(recordFiles.get(i), stateCounts[i]));
+            nameOffset += encodedNames[i].length;
+            stateOffset += stateCounts[i] * RECORD_BYTES;
+        }
+        for (byte[] name : encodedNames) {
+            head.put(name);
+        }
+        head.position(head.capacity()).flip();
+
+        Path written = OutputFiles.tempFile(bundle);
+        try (FileChannel out = FileChannel.open(written, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (head.hasRemaining()) {
+                out.write(head);
+            }
+            for (Path recordFile : recordFiles) {
+                try (FileChannel in = FileChannel.open(recordFile, StandardOpenOption.READ)) {
+                    long size = in.size();
+                    long position = 0;
+                    while (position < size) {
+                        position += in.transferTo(position, size - position, out);
+                    }
+                }
+            }
+        }
+        return OutputFiles.replaceIfChanged(bundle, written);
+    }
+
+    private static double duration(Path recordFile, long stateCount) throws IOException {
+        if (stateCount == 0) {
+            return 0;
+        }
+        ByteBuffer time = ByteBuffer.allocate(Double.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        try (FileChannel in = FileChannel.open(recordFile, StandardOpenOption.READ)) {
+            long position = (stateCount - 1) * RECORD_BYTES;
+            while (time.hasRemaining()) {
+                if (in.read(time, position + time.position()) < 0) {
+                    throw new IOException("Unexpected end of " + recordFile);
+                }
+            }
+        }
+        return time.getDouble(0);
+    }
+
+    private static int align(int offset) {
+        return (offset + Double.BYTES - 1) & -Double.BYTES;
+    }
+}
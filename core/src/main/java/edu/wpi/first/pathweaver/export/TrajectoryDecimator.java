@@ -0,0 +1,106 @@
+package edu.wpi.first.pathweaver.export;
+
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.trajectory.Trajectory;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Removes states that robot code can rebuild from their neighbours.
+ *
+ * <p>{@link Trajectory#sample(double)} rebuilds the states between two kept states by extrapolating from the first
+ * one, so how far a segment may reach depends mostly on where it starts. Starting from the first state, each kept
+ * state is followed by the furthest state that still reconstructs every state in between within the
+ * {@link DecimationTolerance}. The reconstruction uses the same interpolation as robot code, so the errors are
+ * measured against what the robot will sample.
+ */
+public final class TrajectoryDecimator {
+    private TrajectoryDecimator() {
+        throw new UnsupportedOperationException("This is a utility class!");
+    }
+
+    /**
+     * Removes the states of a trajectory that are within tolerance of the interpolation between the states kept
+     * around them. The first and last states are always kept.
+     *
+     * @param trajectory the trajectory to decimate
+     * @param tolerance  how far the interpolated trajectory may be from every removed state
+     * @return the decimated trajectory
+     */
+    public static Trajectory decimate(Trajectory trajectory, DecimationTolerance tolerance) {
+        List<Trajectory.State> states = trajectory.getStates();
+        if (states.size() < 3) {
+            return trajectory;
+        }
+        int last = states.size() - 1;
+        List<Trajectory.State> kept = new ArrayList<>();
+        kept.add(states.get(0));
+        int from = 0;
+        while (from < last) {
+            from = furthestReach(states, from, tolerance);
+            kept.add(states.get(from));
+        }
+        return new Trajectory(kept);
+    }
+
+    /**
+     * Finds the furthest state that can follow a kept state. Segments are lengthened by doubling until one is out of
+     * tolerance, then the longest segment within tolerance is found by bisection. Every segment that is returned
+     * has been checked, even though longer segments are not always worse than shorter ones.
+     *
+     * @return the index of the state to keep next
+     */
+    private static int furthestReach(List<Trajectory.State> states, int from, DecimationTolerance tolerance) {
+        int last = states.size() - 1;
+        int reach = from + 1;
+        int step = 2;
+        while (from + step <= last && isWithinTolerance(states, from, from + step, tolerance)) {
+            reach = from + step;
+            step *= 2;
+        }
+        int beyond = Math.min(from + step, last + 1);
+        while (beyond - reach > 1) {
+            int middle = (reach + beyond) >>> 1;
+            if (isWithinTolerance(states, from, middle, tolerance)) {
+                reach = middle;
+            } else {
+                beyond = middle;
+            }
+        }
+        return reach;
+    }
+
+    /**
+     * Checks whether every state after a kept state, up to another one, is reconstructed within the tolerances. The
+     * later state is checked too, because sampling extrapolates from the earlier state even at the later state's own
+     * time.
+     */
+    private static boolean isWithinTolerance(List<Trajectory.State> states, int first, int last,
+                                             DecimationTolerance tolerance) {
+        Trajectory.State end = states.get(last);
+        // A trajectory returns its last state unchanged, so a copy is put after the end to make it interpolated
+        Trajectory segment = new Trajectory(List.of(states.get(first), end, new Trajectory.State(end.timeSeconds + 1,
+                end.velocityMetersPerSecond, end.accelerationMetersPerSecondSq, end.poseMeters,
+                end.curvatureRadPerMeter)));
+        for (int i = first + 1; i <= last; i++) {
+            Trajectory.State actual = states.get(i);
+            Trajectory.State interpolated = segment.sample(actual.timeSeconds);
+            if (distance(actual.poseMeters, interpolated.poseMeters) > tolerance.getPosition()
+                    || headingError(actual.poseMeters, interpolated.poseMeters) > tolerance.getHeading()
+                    || Math.abs(actual.velocityMetersPerSecond - interpolated.velocityMetersPerSecond)
+                            > tolerance.getVelocity()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static double distance(Pose2d a, Pose2d b) {
+        return Math.hypot(a.getX() - b.getX(), a.getY() - b.getY());
+    }
+
+    private static double headingError(Pose2d a, Pose2d b) {
+        return Math.abs(Math.IEEEremainder(a.getRotation().getRadians() - b.getRotation().getRadians(), 2 * Math.PI));
+    }
+}
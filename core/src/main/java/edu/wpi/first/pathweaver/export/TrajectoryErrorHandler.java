@@ -0,0 +1,61 @@
+package edu.wpi.first.pathweaver.export;
+
+import edu.wpi.first.math.trajectory.Trajectory;
+import edu.wpi.first.math.trajectory.TrajectoryConfig;
+import edu.wpi.first.math.trajectory.TrajectoryGenerator;
+
+import java.util.function.BiConsumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Scopes {@link TrajectoryGenerator}'s error handler to a single generation call.
+ *
+ * <p>{@link TrajectoryGenerator#setErrorHandler(BiConsumer)} is global, so two threads generating trajectories at
+ * the same time would report their errors to whichever handler was installed last. This class installs one
+ * global handler that forwards each error to the handler of the thread that caused it.
+ */
+public final class TrajectoryErrorHandler {
+    private static final Logger LOGGER = Logger.getLogger(TrajectoryErrorHandler.class.getName());
+    private static final ThreadLocal<BiConsumer<String, StackTraceElement[]>> HANDLER = new ThreadLocal<>();
+
+    static {
+        TrajectoryGenerator.setErrorHandler(TrajectoryErrorHandler::dispatch);
+    }
+
+    private TrajectoryErrorHandler() {
+        throw new UnsupportedOperationException("This is a utility class!");
+    }
+
+    /**
+     * Generates a trajectory, reporting any generation error to the given handler only.
+     *
+     * @param controlVectors the control vectors of the trajectory
+     * @param config         the trajectory configuration
+     * @param onError        called with the error message and stack trace if generation fails
+     * @return the generated trajectory, or WPILib's empty trajectory if generation failed
+     */
+    public static Trajectory generate(TrajectoryGenerator.ControlVectorList controlVectors, TrajectoryConfig config,
+                                      BiConsumer<String, StackTraceElement[]> onError) {
+        BiConsumer<String, StackTraceElement[]> previous = HANDLER.get();
+        HANDLER.set(onError);
+        try {
+            return TrajectoryGenerator.generateTrajectory(controlVectors, config);
+        } finally {
+            if (previous == null) {
+                HANDLER.remove();
+            } else {
+                HANDLER.set(previous);
+            }
+        }
+    }
+
+    private static void dispatch(String error, StackTraceElement[] stackTrace) {
+        BiConsumer<String, StackTraceElement[]> handler = HANDLER.get();
+        if (handler == null) {
+            LOGGER.log(Level.WARNING, "Could not generate trajectory: " + error, stackTrace);
+        } else {
+            handler.accept(error, stackTrace);
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package edu.wpi.first.pathweaver.export;
+
+import edu.wpi.first.math.kinematics.DifferentialDriveKinematics;
+import edu.wpi.first.math.spline.Spline;
+import edu.wpi.first.math.trajectory.Trajectory;
+import edu.wpi.first.math.trajectory.TrajectoryConfig;
+import edu.wpi.first.math.trajectory.TrajectoryGenerator;
+import edu.wpi.first.pathweaver.path.ControlPoint;
+
+import javax.measure.UnitConverter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+/**
+ * Generates WPILib trajectories from control points and writes them in the format robot code reads. Nothing in
+ * here touches shared state, so paths can be exported concurrently.
+ */
+public final class TrajectoryExporter {
+    private TrajectoryExporter() {
+        throw new UnsupportedOperationException("This is a utility class!");
+    }
+
+    /**
+     * Generates the trajectory for a path.
+     *
+     * @param points   the control points of the path, in project units
+     * @param settings the export settings
+     * @param onError  called if the trajectory could not be generated
+     * @return the trajectory, in export units and WPILib coordinates
+     */
+    public static Trajectory generate(List<ControlPoint> points, ExportSettings settings,
+                                      BiConsumer<String, StackTraceElement[]> onError) {
+        TrajectoryConfig config = new TrajectoryConfig(settings.getMaxVelocity(), settings.getMaxAcceleration())
+                .setKinematics(new DifferentialDriveKinematics(settings.getTrackWidth()))
+                .setReversed(points.get(0).isReversed());
+
+        UnitConverter converter = settings.getLengthConverter();
+        var list = new TrajectoryGenerator.ControlVectorList();
+        for (ControlPoint point : points) {
+            list.add(new Spline.ControlVector(
+                    new double[] {converter.convert(point.getX()), converter.convert(point.getTangentX()), 0},
+                    new double[] {converter.convert(point.getY()), converter.convert(point.getTangentY()), 0}));
+        }
+
+        return TrajectoryErrorHandler.generate(list, config, onError);
+    }
+
+    /**
+     * Writes a trajectory next to the given path in every format selected by the settings, moving it from
+     * PathWeaver's field coordinates (origin at the top left) to WPILib's (origin at the bottom left). Files that
+     * already hold the same bytes are left untouched, see {@link OutputFiles}.
+     *
+     * @param trajectory the trajectory to write
+     * @param path       the output file, without extension
+     * @param settings   the export settings
+     * @return the number of files that changed
+     * @throws IOException if a file could not be written
+     */
+    public static int write(Trajectory trajectory, Path path, ExportSettings settings) throws IOException {
+        ExportFormat format = settings.getFormat();
+        int changed = 0;
+        // Each file is streamed to a temporary file and compared on disk, so no copy of it is kept in memory
+        if (format.writesJson()) {
+            Path json = jsonFile(path);
+            Path written = OutputFiles.tempFile(json);
+            TrajectoryJsonWriter.write(trajectory, settings.getFieldHeight(), written);
+            changed += OutputFiles.replaceIfChanged(json, written) ? 1 : 0;
+        }
+        if (format.writesProtobuf()) {
+            Path protobuf = protobufFile(path);
+            Path written = OutputFiles.tempFile(protobuf);
+            TrajectoryProtobufWriter.write(trajectory, settings.getFieldHeight(), written);
+            changed += OutputFiles.replaceIfChanged(protobuf, written) ? 1 : 0;
+        }
+        return changed;
+    }
+
+    /**
+     * Lists the files {@link #write(Trajectory, Path, ExportSettings)} creates for a path.
+     *
+     * @param path     the output file, without extension
+     * @param settings the export settings
+     * @return the files written for the path
+     */
+    public static List<Path> outputFiles(Path path, ExportSettings settings) {
+        List<Path> files = new ArrayList<>(2);
+        if (settings.getFormat().writesJson()) {
+            files.add(jsonFile(path));
+        }
+        if (settings.getFormat().writesProtobuf()) {
+            files.add(protobufFile(path));
+        }
+        return files;
+    }
+
+    /**
+     * Measures how many bytes {@link #write(Trajectory, Path, ExportSettings)} and the bundle records of a
+     * trajectory take, without writing any files.
+     *
+     * @param trajectory the trajectory to measure
+     * @param settings   the export settings
+     * @return the total size of the files the trajectory is exported to
+     */
+    public static long encodedSize(Trajectory trajectory, ExportSettings settings) {
+        CountingOutputStream counter = new CountingOutputStream();
+        try {
+            if (settings.getFormat().writesJson()) {
+                // The JSON is plain ASCII, so every character is one byte
+                Writer writer = new OutputStreamWriter(counter, StandardCharsets.US_ASCII);
+                TrajectoryJsonWriter.write(trajectory, settings.getFieldHeight(), writer);
+                writer.flush();
+            }
+            if (settings.getFormat().writesProtobuf()) {
+                TrajectoryProtobufWriter.write(trajectory, settings.getFieldHeight(), counter);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Counting bytes cannot fail", e);
+        }
+        long size = counter.count;
+        if (settings.isBundle()) {
+            size += (long) trajectory.getStates().size() * TrajectoryBundle.RECORD_BYTES;
+        }
+        return size;
+    }
+
+    private static Path jsonFile(Path path) {
+        return path.resolveSibling(path.getFileName() + ".wpilib.json");
+    }
+
+    private static Path protobufFile(Path path) {
+        return path.resolveSibling(path.getFileName() + ".wpilib.pb");
+    }
+
+    /**
+     * Compares the size of a trajectory before and after decimation.
+     *
+     * @param generated the generated trajectory
+     * @param decimated the result of decimating it
+     * @param settings  the export settings
+     * @return the state counts and exported sizes of the two trajectories
+     */
+    public static DecimationReport report(Trajectory generated, Trajectory decimated, ExportSettings settings) {
+        return new DecimationReport(generated.getStates().size(), decimated.getStates().size(),
+                encodedSize(generated, settings), encodedSize(decimated, settings));
+    }
+
+    private static final class CountingOutputStream extends OutputStream {
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
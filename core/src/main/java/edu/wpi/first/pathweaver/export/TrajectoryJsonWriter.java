@@ -0,0 +1,152 @@
+package edu.wpi.first.pathweaver.export;
+
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.trajectory.Trajectory;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Writes trajectories in the ".wpilib.json" format read by {@code TrajectoryUtil.fromPathweaverJson}.
+ *
+ * <p>States are streamed to the output one at a time, so writing a trajectory needs no memory beyond the trajectory
+ * itself. The output is byte for byte what WPILib's native {@code TrajectoryUtil.toPathweaverJson} writes: compact
+ * JSON with alphabetically ordered keys and numbers in the shortest form that reads back to the same double.
+ */
+public final class TrajectoryJsonWriter {
+    private static final int MIN_DECIMAL_EXPONENT = -4;
+    private static final int MAX_DECIMAL_EXPONENT = 15;
+
+    private TrajectoryJsonWriter() {
+        throw new UnsupportedOperationException("This is a utility class!");
+    }
+
+    /**
+     * Writes a trajectory to a file, creating its parent directories if needed.
+     *
+     * @param trajectory the trajectory to write
+     * @param yOffset    the offset to add to the y coordinate of every state
+     * @param file       the file to write to
+     * @throws IOException if the file could not be written
+     */
+    public static void write(Trajectory trajectory, double yOffset, Path file) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            write(trajectory, yOffset, writer);
+        }
+    }
+
+    /**
+     * Writes a trajectory. The writer should be buffered.
+     *
+     * @param trajectory the trajectory to write
+     * @param yOffset    the offset to add to the y coordinate of every state
+     * @param writer     the writer to write to
+     * @throws IOException if the writer fails
+     */
+    public static void write(Trajectory trajectory, double yOffset, Writer writer) throws IOException {
+        writer.write('[');
+        boolean first = true;
+        for (Trajectory.State state : trajectory.getStates()) {
+            if (!first) {
+                writer.write(',');
+            }
+            first = false;
+            Pose2d pose = state.poseMeters;
+            writer.write("{\"acceleration\":");
+            writer.write(formatDouble(state.accelerationMetersPerSecondSq));
+            writer.write(",\"curvature\":");
+            writer.write(formatDouble(state.curvatureRadPerMeter));
+            writer.write(",\"pose\":{\"rotation\":{\"radians\":");
+            writer.write(formatDouble(pose.getRotation().getRadians()));
+            writer.write("},\"translation\":{\"x\":");
+            writer.write(formatDouble(pose.getX()));
+            writer.write(",\"y\":");
+            writer.write(formatDouble(pose.getY() + yOffset));
+            writer.write("}},\"time\":");
+            writer.write(formatDouble(state.timeSeconds));
+            writer.write(",\"velocity\":");
+            writer.write(formatDouble(state.velocityMetersPerSecond));
+            writer.write('}');
+        }
+        writer.write(']');
+    }
+
+    /**
+     * Formats a double the way the JSON library used by WPILib does: the shortest digits that read back to the same
+     * value, in plain notation for decimal exponents from -4 to 15 and in scientific notation otherwise. Non-finite
+     * values have no JSON representation and are written as null.
+     *
+     * @param value the value to format
+     * @return the JSON number
+     */
+    static String formatDouble(double value) {
+        if (!Double.isFinite(value)) {
+            return "null";
+        }
+        if (value == 0) {
+            return Double.doubleToRawLongBits(value) < 0 ? "-0.0" : "0.0";
+        }
+
+        BigDecimal decimal = shortest(value);
+        String digits = decimal.unscaledValue().abs().toString();
+        // The position of the decimal point relative to the first digit
+        int point = digits.length() - decimal.scale();
+
+        StringBuilder builder = new StringBuilder(24);
+        if (value < 0) {
+            builder.append('-');
+        }
+        if (digits.length() <= point && point <= MAX_DECIMAL_EXPONENT) {
+            // 1234e7 -> 12340000000.0
+            builder.append(digits);
+            builder.append("0".repeat(point - digits.length()));
+            builder.append(".0");
+        } else if (0 < point && point <= MAX_DECIMAL_EXPONENT) {
+            // 1234e-2 -> 12.34
+            builder.append(digits, 0, point).append('.').append(digits, point, digits.length());
+        } else if (MIN_DECIMAL_EXPONENT < point && point <= 0) {
+            // 1234e-6 -> 0.001234
+            builder.append("0.").append("0".repeat(-point)).append(digits);
+        } else {
+            // 1234e-30 -> 1.234e-27
+            builder.append(digits.charAt(0));
+            if (digits.length() > 1) {
+                builder.append('.').append(digits, 1, digits.length());
+            }
+            int exponent = point - 1;
+            builder.append(exponent < 0 ? "e-" : "e+");
+            int magnitude = Math.abs(exponent);
+            if (magnitude < 10) {
+                builder.append('0');
+            }
+            builder.append(magnitude);
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Finds the shortest decimal that reads back to the given value. {@link Double#toString(double)} is usually the
+     * shortest already, but older JDKs occasionally emit an extra digit.
+     */
+    private static BigDecimal shortest(double value) {
+        BigDecimal decimal = new BigDecimal(Double.toString(value)).stripTrailingZeros();
+        while (decimal.precision() > 1) {
+            BigDecimal shorter = decimal.round(new MathContext(decimal.precision() - 1, RoundingMode.HALF_EVEN));
+            if (shorter.doubleValue() != value) {
+                break;
+            }
+            decimal = shorter.stripTrailingZeros();
+        }
+        return decimal;
+    }
+}
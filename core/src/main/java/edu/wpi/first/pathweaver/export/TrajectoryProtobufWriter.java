@@ -0,0 +1,92 @@
+package edu.wpi.first.pathweaver.export;
+
+import edu.wpi.first.math.trajectory.Trajectory;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Writes trajectories as protocol buffers, one packed {@code repeated double} field per state property. The schema
+ * is in {@code trajectory.proto} next to this class, so robot code can generate a reader with quickbuf or
+ * protobuf-java.
+ *
+ * <p>Columns of packed doubles are much smaller than JSON and are read without any text parsing. The wire format is
+ * written directly: each field is a tag, a byte length and the little-endian doubles, streamed from the states
+ * without building a message in memory.
+ */
+public final class TrajectoryProtobufWriter {
+    /** Protobuf wire type of length-delimited fields, which packed repeated fields use. */
+    private static final int WIRE_TYPE_LENGTH_DELIMITED = 2;
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private TrajectoryProtobufWriter() {
+        throw new UnsupportedOperationException("This is a utility class!");
+    }
+
+    /**
+     * Writes a trajectory to a file, creating its parent directories if needed.
+     *
+     * @param trajectory the trajectory to write
+     * @param yOffset    the offset to add to the y coordinate of every state
+     * @param file       the file to write to
+     * @throws IOException if the file could not be written
+     */
+    public static void write(Trajectory trajectory, double yOffset, Path file) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file), BUFFER_SIZE)) {
+            write(trajectory, yOffset, out);
+        }
+    }
+
+    /**
+     * Writes a trajectory. The stream should be buffered.
+     *
+     * @param trajectory the trajectory to write
+     * @param yOffset    the offset to add to the y coordinate of every state
+     * @param out        the stream to write to
+     * @throws IOException if the stream fails
+     */
+    public static void write(Trajectory trajectory, double yOffset, OutputStream out) throws IOException {
+        List<Trajectory.State> states = trajectory.getStates();
+        DataOutputStream data = new DataOutputStream(out);
+        writeField(data, 1, states, state -> state.timeSeconds);
+        writeField(data, 2, states, state -> state.velocityMetersPerSecond);
+        writeField(data, 3, states, state -> state.accelerationMetersPerSecondSq);
+        writeField(data, 4, states, state -> state.poseMeters.getX());
+        writeField(data, 5, states, state -> state.poseMeters.getY() + yOffset);
+        writeField(data, 6, states, state -> state.poseMeters.getRotation().getRadians());
+        writeField(data, 7, states, state -> state.curvatureRadPerMeter);
+        data.flush();
+    }
+
+    private static void writeField(DataOutputStream data, int fieldNumber, List<Trajectory.State> states,
+                                   ToDoubleFunction<Trajectory.State> property) throws IOException {
+        if (states.isEmpty()) {
+            // Empty repeated fields are omitted
+            return;
+        }
+        writeVarint(data, (long) fieldNumber << 3 | WIRE_TYPE_LENGTH_DELIMITED);
+        writeVarint(data, (long) states.size() * Double.BYTES);
+        for (Trajectory.State state : states) {
+            data.writeLong(Long.reverseBytes(Double.doubleToRawLongBits(property.applyAsDouble(state))));
+        }
+    }
+
+    private static void writeVarint(DataOutputStream data, long value) throws IOException {
+        long remaining = value;
+        while ((remaining & ~0x7FL) != 0) {
+            data.writeByte((int) (remaining & 0x7F) | 0x80);
+            remaining >>>= 7;
+        }
+        data.writeByte((int) remaining);
+    }
+}
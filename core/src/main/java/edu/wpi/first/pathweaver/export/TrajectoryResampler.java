@@ -0,0 +1,84 @@
+package edu.wpi.first.pathweaver.export;
+
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.trajectory.Trajectory;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Resamples trajectories onto a uniform time grid, so robot code can find the state for a time by indexing instead
+ * of searching.
+ *
+ * <p>State {@code i} of a resampled trajectory is at {@code i * period}, except the last state, which is always the
+ * end of the trajectory and may be closer to the state before it. The state before time {@code t} is therefore
+ * {@code min((int) (t / period), stateCount - 2)}.
+ */
+public final class TrajectoryResampler {
+    private TrajectoryResampler() {
+        throw new UnsupportedOperationException("This is a utility class!");
+    }
+
+    /**
+     * Samples a trajectory every {@code period} seconds.
+     *
+     * @param trajectory the trajectory to resample
+     * @param period     the time between states, in seconds
+     * @return the resampled trajectory
+     * @throws IllegalArgumentException if the period is not positive
+     */
+    public static Trajectory resample(Trajectory trajectory, double period) {
+        if (!(period > 0)) {
+            throw new IllegalArgumentException("The resample period must be positive: " + period);
+        }
+        double duration = trajectory.getTotalTimeSeconds();
+        // Skip a grid point that would land within rounding of the end, which is added separately
+        int steps = (int) Math.ceil(duration / period - 1E-9);
+        List<Trajectory.State> states = new ArrayList<>(steps + 1);
+        for (int i = 0; i < steps; i++) {
+            states.add(trajectory.sample(i * period));
+        }
+        states.add(trajectory.sample(duration));
+        return new Trajectory(states);
+    }
+
+    /**
+     * Measures how far linear interpolation between the states of a resampled trajectory strays from the original.
+     * The position is compared at every original state and halfway between resampled states, which is where the
+     * chord between two states is furthest from a curve.
+     *
+     * @param original  the generated trajectory
+     * @param resampled the result of {@link #resample(Trajectory, double)}
+     * @return the largest distance between the two, in the units of the trajectories
+     */
+    public static double maxInterpolationError(Trajectory original, Trajectory resampled) {
+        List<Trajectory.State> grid = resampled.getStates();
+        if (grid.size() < 2) {
+            return 0;
+        }
+        double maxError = 0;
+        int index = 1;
+        for (Trajectory.State state : original.getStates()) {
+            while (index < grid.size() - 1 && grid.get(index).timeSeconds < state.timeSeconds) {
+                index++;
+            }
+            maxError = Math.max(maxError, error(original, grid.get(index - 1), grid.get(index), state.timeSeconds));
+        }
+        for (int i = 1; i < grid.size(); i++) {
+            Trajectory.State start = grid.get(i - 1);
+            Trajectory.State end = grid.get(i);
+            maxError = Math.max(maxError, error(original, start, end, (start.timeSeconds + end.timeSeconds) / 2));
+        }
+        return maxError;
+    }
+
+    private static double error(Trajectory original, Trajectory.State start, Trajectory.State end, double time) {
+        double span = end.timeSeconds - start.timeSeconds;
+        double fraction = span > 0 ? Math.min(Math.max((time - start.timeSeconds) / span, 0), 1) : 0;
+        Pose2d from = start.poseMeters;
+        Pose2d to = end.poseMeters;
+        Pose2d actual = original.sample(time).poseMeters;
+        return Math.hypot(from.getX() + (to.getX() - from.getX()) * fraction - actual.getX(),
+                from.getY() + (to.getY() - from.getY()) * fraction - actual.getY());
+    }
+}
@@ -0,0 +1,77 @@
+package edu.wpi.first.pathweaver.path;
+
+import java.util.Objects;
+
+/**
+ * An immutable snapshot of the parts of a waypoint that determine the shape of a spline: its position, its
+ * tangent vector and whether the path is driven in reverse. Unlike {@code Waypoint}, it holds no JavaFX
+ * properties or scene graph nodes, so it is cheap to create and safe to share between threads.
+ */
+public final class ControlPoint {
+    private final double x;
+    private final double y;
+    private final double tangentX;
+    private final double tangentY;
+    private final boolean reversed;
+
+    /**
+     * Creates a control point.
+     *
+     * @param x        x coordinate, following {@code Waypoint} convention
+     * @param y        y coordinate, following {@code Waypoint} convention
+     * @param tangentX x component of the tangent vector
+     * @param tangentY y component of the tangent vector
+     * @param reversed whether the path is driven in reverse
+     */
+    public ControlPoint(double x, double y, double tangentX, double tangentY, boolean reversed) {
+        this.x = x;
+        this.y = y;
+        this.tangentX = tangentX;
+        this.tangentY = tangentY;
+        this.reversed = reversed;
+    }
+
+    public double getX() {
+        return x;
+    }
+
+    public double getY() {
+        return y;
+    }
+
+    public double getTangentX() {
+        return tangentX;
+    }
+
+    public double getTangentY() {
+        return tangentY;
+    }
+
+    public boolean isReversed() {
+        return reversed;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        ControlPoint that = (ControlPoint) o;
+        return Double.compare(x, that.x) == 0 && Double.compare(y, that.y) == 0
+                && Double.compare(tangentX, that.tangentX) == 0 && Double.compare(tangentY, that.tangentY) == 0
+                && reversed == that.reversed;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(x, y, tangentX, tangentY, reversed);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("(%f,%f), (%f,%f), %b", x, y, tangentX, tangentY, reversed);
+    }
+}
@@ -0,0 +1,61 @@
+package edu.wpi.first.pathweaver.path;
+
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads the spline-relevant columns of a ".path" file without building a {@link Path}, which makes it usable
+ * off the JavaFX application thread.
+ *
+ * @see ControlPoint
+ */
+public final class PathCsvUtil {
+    private PathCsvUtil() {
+        throw new UnsupportedOperationException("This is a utility class!");
+    }
+
+    /**
+     * Reads the control points of a path file.
+     *
+     * @param pathFile the ".path" file to read
+     * @return the control points, in order
+     * @throws IOException if the file could not be read
+     */
+    public static List<ControlPoint> readControlPoints(java.nio.file.Path pathFile) throws IOException {
+        try (Reader reader = Files.newBufferedReader(pathFile)) {
+            return readControlPoints(reader);
+        }
+    }
+
+    /**
+     * Reads the control points of a path file.
+     *
+     * @param reader the reader supplying the CSV contents of a ".path" file
+     * @return the control points, in order
+     * @throws IOException if the contents could not be read
+     */
+    public static List<ControlPoint> readControlPoints(Reader reader) throws IOException {
+        try (CSVParser csvParser = new CSVParser(reader, CSVFormat.DEFAULT
+                .withFirstRecordAsHeader()
+                .withIgnoreHeaderCase()
+                .withTrim())) {
+            List<ControlPoint> points = new ArrayList<>();
+            for (CSVRecord csvRecord : csvParser) {
+                points.add(new ControlPoint(
+                        Double.parseDouble(csvRecord.get("X")),
+                        Double.parseDouble(csvRecord.get("Y")),
+                        Double.parseDouble(csvRecord.get("Tangent X")),
+                        Double.parseDouble(csvRecord.get("Tangent Y")),
+                        Boolean.parseBoolean(csvRecord.get("Reversed"))));
+            }
+            return points;
+        }
+    }
+}
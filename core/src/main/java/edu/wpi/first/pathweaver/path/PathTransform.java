@@ -0,0 +1,143 @@
+package edu.wpi.first.pathweaver.path;
+
+/**
+ * An affine transform of the plane that moves a whole path at once, such as mirroring it for the other alliance,
+ * turning it around one of its waypoints or scaling it.
+ *
+ * <p>Points and vectors are packed into a single array as {@code x0, y0, x1, y1, ...} and transformed in place, so a
+ * path of any size is transformed in one pass without allocating. Vectors, like the tangents of waypoints, are only
+ * turned, mirrored and scaled, not translated.
+ */
+public final class PathTransform {
+    private static final PathTransform IDENTITY = new PathTransform(1, 0, 0, 0, 1, 0);
+
+    // x' = xx * x + xy * y + x0, y' = yx * x + yy * y + y0
+    private final double xx;
+    private final double xy;
+    private final double x0;
+    private final double yx;
+    private final double yy;
+    private final double y0;
+
+    private PathTransform(double xx, double xy, double x0, double yx, double yy, double y0) {
+        this.xx = xx;
+        this.xy = xy;
+        this.x0 = x0;
+        this.yx = yx;
+        this.yy = yy;
+        this.y0 = y0;
+    }
+
+    /**
+     * Gets the transform that changes nothing.
+     *
+     * @return the identity transform
+     */
+    public static PathTransform identity() {
+        return IDENTITY;
+    }
+
+    /**
+     * Creates a transform that moves every point by the same offset.
+     *
+     * @param dx how far to move along the x axis
+     * @param dy how far to move along the y axis
+     * @return the translation
+     */
+    public static PathTransform translation(double dx, double dy) {
+        return new PathTransform(1, 0, dx, 0, 1, dy);
+    }
+
+    /**
+     * Creates a transform that turns every point around a pivot, counterclockwise for positive angles.
+     *
+     * @param radians the angle to turn by
+     * @param pivotX  the x coordinate of the point to turn around
+     * @param pivotY  the y coordinate of the point to turn around
+     * @return the rotation
+     */
+    public static PathTransform rotation(double radians, double pivotX, double pivotY) {
+        double cos = Math.cos(radians);
+        double sin = Math.sin(radians);
+        return new PathTransform(cos, -sin, pivotX - cos * pivotX + sin * pivotY,
+                sin, cos, pivotY - sin * pivotX - cos * pivotY);
+    }
+
+    /**
+     * Creates a transform that scales the distance of every point from a pivot by the same factor.
+     *
+     * @param factor how much to scale by; a negative factor also turns the points halfway around the pivot
+     * @param pivotX the x coordinate of the point that stays in place
+     * @param pivotY the y coordinate of the point that stays in place
+     * @return the scaling
+     * @throws IllegalArgumentException if {@code factor} is zero or not finite
+     */
+    public static PathTransform scale(double factor, double pivotX, double pivotY) {
+        if (factor == 0 || !Double.isFinite(factor)) {
+            throw new IllegalArgumentException("Scale factor must be finite and not zero, was " + factor);
+        }
+        return new PathTransform(factor, 0, pivotX - factor * pivotX, 0, factor, pivotY - factor * pivotY);
+    }
+
+    /**
+     * Creates a transform that mirrors every point across a vertical line, which flips the x coordinates.
+     *
+     * @param axisX the x coordinate of the line
+     * @return the reflection
+     */
+    public static PathTransform mirrorX(double axisX) {
+        return new PathTransform(-1, 0, 2 * axisX, 0, 1, 0);
+    }
+
+    /**
+     * Creates a transform that mirrors every point across a horizontal line, which flips the y coordinates.
+     *
+     * @param axisY the y coordinate of the line
+     * @return the reflection
+     */
+    public static PathTransform mirrorY(double axisY) {
+        return new PathTransform(1, 0, 0, 0, -1, 2 * axisY);
+    }
+
+    /**
+     * Creates a transform that applies this transform and then another one.
+     *
+     * @param after the transform to apply second
+     * @return the combined transform
+     */
+    public PathTransform then(PathTransform after) {
+        return new PathTransform(
+                after.xx * xx + after.xy * yx, after.xx * xy + after.xy * yy, after.xx * x0 + after.xy * y0 + after.x0,
+                after.yx * xx + after.yy * yx, after.yx * xy + after.yy * yy, after.yx * x0 + after.yy * y0 + after.y0);
+    }
+
+    /**
+     * Transforms packed points in place.
+     *
+     * @param points the points, as {@code x0, y0, x1, y1, ...}
+     * @param count  the number of points
+     */
+    public void apply(double[] points, int count) {
+        for (int i = 0; i < 2 * count; i += 2) {
+            double x = points[i];
+            double y = points[i + 1];
+            points[i] = xx * x + xy * y + x0;
+            points[i + 1] = yx * x + yy * y + y0;
+        }
+    }
+
+    /**
+     * Transforms packed vectors in place, ignoring the translation.
+     *
+     * @param vectors the vectors, as {@code x0, y0, x1, y1, ...}
+     * @param count   the number of vectors
+     */
+    public void applyToVectors(double[] vectors, int count) {
+        for (int i = 0; i < 2 * count; i += 2) {
+            double x = vectors[i];
+            double y = vectors[i + 1];
+            vectors[i] = xx * x + xy * y;
+            vectors[i + 1] = yx * x + yy * y;
+        }
+    }
+}
@@ -0,0 +1,374 @@
+package edu.wpi.first.pathweaver.path;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Finds the sampled segment closest to a point, for hit-testing paths and picking where to insert a waypoint without
+ * measuring the distance to every sampled point of every path.
+ *
+ * <p>Segments are polylines identified by an integer key. The edges of each polyline are kept in the cells of a
+ * uniform grid that they pass through, so a query only looks at the edges in the cells around the point, and a
+ * segment that is sampled again only updates the cells it passed through before and passes through now.
+ *
+ * <p>Edges that would pass through too many cells, or lie too far out for their cells to be numbered, are kept out of
+ * the grid and checked by every query instead. Paths are field-sized, so only points sampled from wild tangents are.
+ */
+public class SegmentIndex {
+    /**
+     * The most cells an edge may pass through to be kept in the grid.
+     */
+    private static final double MAX_EDGE_CELLS = 4096;
+    /**
+     * The largest cell number in either direction, so cells can be packed into a key and walked without overflow.
+     */
+    private static final double MAX_CELL = Integer.MAX_VALUE;
+
+    private final double cellSize;
+    private final Map<Long, Cell> cells = new HashMap<>();
+    private final Map<Integer, Polyline> segments = new HashMap<>();
+    private Cell oversized = new Cell();
+
+    /**
+     * Creates an empty index.
+     *
+     * @param cellSize the width and height of the grid cells, which should be around the size of the queries
+     */
+    public SegmentIndex(double cellSize) {
+        if (!(cellSize > 0)) {
+            throw new IllegalArgumentException("Cell size must be positive, was " + cellSize);
+        }
+        this.cellSize = cellSize;
+    }
+
+    /**
+     * The point of an indexed segment closest to a query.
+     */
+    public static final class Hit {
+        private final int segment;
+        private final int edge;
+        private final double x;
+        private final double y;
+        private final double distance;
+
+        private Hit(int segment, int edge, double x, double y, double distance) {
+            this.segment = segment;
+            this.edge = edge;
+            this.x = x;
+            this.y = y;
+            this.distance = distance;
+        }
+
+        /**
+         * Gets the key of the segment.
+         *
+         * @return the key of the segment
+         */
+        public int getSegment() {
+            return segment;
+        }
+
+        /**
+         * Gets the index of the edge of the segment's polyline the point is on, which starts at that point of the
+         * polyline.
+         *
+         * @return the index of the edge
+         */
+        public int getEdge() {
+            return edge;
+        }
+
+        public double getX() {
+            return x;
+        }
+
+        public double getY() {
+            return y;
+        }
+
+        public double getDistance() {
+            return distance;
+        }
+    }
+
+    /**
+     * The sampled points of a segment. A segment with a single point has one edge from that point to itself.
+     */
+    private final class Polyline {
+        private final int segment;
+        private final double[] xs;
+        private final double[] ys;
+        private long[] cellKeys = new long[8];
+        private int cellCount;
+        private boolean hasOversizedEdges;
+
+        private Polyline(int segment, double[] xs, double[] ys) {
+            this.segment = segment;
+            this.xs = xs;
+            this.ys = ys;
+        }
+
+        /**
+         * Remembers a cell this polyline passes through, so it can be removed from it later.
+         */
+        private void addCellKey(long key) {
+            // Neighboring edges are usually in the same cell
+            if (cellCount > 0 && cellKeys[cellCount - 1] == key) {
+                return;
+            }
+            if (cellCount == cellKeys.length) {
+                cellKeys = Arrays.copyOf(cellKeys, cellCount * 2);
+            }
+            cellKeys[cellCount++] = key;
+        }
+
+        private int edgeCount() {
+            return xs.length == 1 ? 1 : xs.length - 1;
+        }
+
+        private int end(int edge) {
+            return Math.min(edge + 1, xs.length - 1);
+        }
+
+        /**
+         * Checks if an edge is too long, or too far out, to be kept in the grid. Walking its cells could take billions
+         * of steps.
+         */
+        private boolean isOversized(int edge) {
+            double startX = xs[edge];
+            double startY = ys[edge];
+            double endX = xs[end(edge)];
+            double endY = ys[end(edge)];
+            if (!Double.isFinite(startX + startY + endX + endY)) {
+                return false;
+            }
+            double limit = MAX_CELL * cellSize;
+            return Math.abs(endX - startX) + Math.abs(endY - startY) > MAX_EDGE_CELLS * cellSize
+                    || Math.max(Math.abs(startX), Math.abs(endX)) > limit
+                    || Math.max(Math.abs(startY), Math.abs(endY)) > limit;
+        }
+
+        /**
+         * Calls the consumer with every cell an edge passes through.
+         */
+        private void forEachCell(int edge, CellConsumer consumer) {
+            double startX = xs[edge];
+            double startY = ys[edge];
+            double dx = xs[end(edge)] - startX;
+            double dy = ys[end(edge)] - startY;
+            if (!Double.isFinite(startX + startY + dx + dy)) {
+                // Degenerate tangents can sample to points that cannot be hit anyway
+                return;
+            }
+            for (long x = cell(Math.min(startX, startX + dx)); x <= cell(Math.max(startX, startX + dx)); x++) {
+                // Clip the edge to the column, then only visit the cells of the column that the clipped edge spans
+                double fromY = startY;
+                double toY = startY + dy;
+                if (dx != 0) {
+                    double a = (x * cellSize - startX) / dx;
+                    double b = ((x + 1) * cellSize - startX) / dx;
+                    fromY = startY + Math.max(0, Math.min(a, b)) * dy;
+                    toY = startY + Math.min(1, Math.max(a, b)) * dy;
+                }
+                for (long y = cell(Math.min(fromY, toY)); y <= cell(Math.max(fromY, toY)); y++) {
+                    consumer.accept(x, y);
+                }
+            }
+        }
+    }
+
+    /**
+     * The edges passing through a grid cell, each stored as its polyline and the index of its first point.
+     */
+    private static final class Cell {
+        private Polyline[] polylines = new Polyline[8];
+        private int[] edges = new int[8];
+        private int size;
+
+        private void add(Polyline polyline, int edge) {
+            if (size == edges.length) {
+                polylines = Arrays.copyOf(polylines, size * 2);
+                edges = Arrays.copyOf(edges, size * 2);
+            }
+            polylines[size] = polyline;
+            edges[size] = edge;
+            size++;
+        }
+
+        private void remove(Polyline polyline) {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                if (polylines[i] != polyline) {
+                    polylines[kept] = polylines[i];
+                    edges[kept] = edges[i];
+                    kept++;
+                }
+            }
+            Arrays.fill(polylines, kept, size, null);
+            size = kept;
+        }
+    }
+
+    /**
+     * Adds a segment, or replaces its points if it is already in the index.
+     *
+     * @param segment the key of the segment
+     * @param xs      the x coordinates of the points of the segment
+     * @param ys      the y coordinates of the points of the segment
+     * @param size    the number of points
+     */
+    public void put(int segment, double[] xs, double[] ys, int size) {
+        remove(segment);
+        Polyline polyline = new Polyline(segment, Arrays.copyOf(xs, size), Arrays.copyOf(ys, size));
+        segments.put(segment, polyline);
+        for (int edge = 0; edge < polyline.edgeCount(); edge++) {
+            if (polyline.isOversized(edge)) {
+                oversized.add(polyline, edge);
+                polyline.hasOversizedEdges = true;
+                continue;
+            }
+            int current = edge;
+            polyline.forEachCell(edge, (x, y) -> {
+                long key = key(x, y);
+                polyline.addCellKey(key);
+                cells.computeIfAbsent(key, unused -> new Cell()).add(polyline, current);
+            });
+        }
+    }
+
+    /**
+     * Removes a segment. Nothing happens if it is not in the index.
+     *
+     * @param segment the key of the segment
+     */
+    public void remove(int segment) {
+        Polyline polyline = segments.remove(segment);
+        if (polyline == null) {
+            return;
+        }
+        if (polyline.hasOversizedEdges) {
+            oversized.remove(polyline);
+        }
+        for (int i = 0; i < polyline.cellCount; i++) {
+            Long key = polyline.cellKeys[i];
+            Cell cell = cells.get(key);
+            // A polyline that comes back to a cell lists it again, but is removed from it the first time
+            if (cell != null) {
+                cell.remove(polyline);
+                if (cell.size == 0) {
+                    cells.remove(key);
+                }
+            }
+        }
+    }
+
+    /**
+     * Removes every segment.
+     */
+    public void clear() {
+        cells.clear();
+        segments.clear();
+        oversized = new Cell();
+    }
+
+    /**
+     * Checks if a segment is in the index.
+     *
+     * @param segment the key of the segment
+     * @return true if it is in the index
+     */
+    public boolean contains(int segment) {
+        return segments.containsKey(segment);
+    }
+
+    /**
+     * Finds the point of any segment closest to a point, if one is close enough.
+     *
+     * @param x           the x coordinate of the point
+     * @param y           the y coordinate of the point
+     * @param maxDistance how far from the point to look
+     * @return the closest point, or empty if no segment is within {@code maxDistance} of the point
+     * @throws IllegalArgumentException if {@code maxDistance} is negative or not finite
+     */
+    public Optional<Hit> nearest(double x, double y, double maxDistance) {
+        if (!(maxDistance >= 0) || Double.isInfinite(maxDistance)) {
+            throw new IllegalArgumentException("Distance must be finite and not negative, was " + maxDistance);
+        }
+        double span = 2 * maxDistance / cellSize + 2;
+        double limit = MAX_CELL * cellSize;
+        Search search = new Search(x, y, maxDistance);
+        search.check(oversized);
+        if (span * span > cells.size() || Math.abs(x) + maxDistance > limit || Math.abs(y) + maxDistance > limit) {
+            // Cheaper to look at every cell than to look up every empty cell in the range, and the only way when the
+            // range is too far out to number its cells
+            for (Cell cell : cells.values()) {
+                search.check(cell);
+            }
+        } else {
+            for (long cellX = cell(x - maxDistance); cellX <= cell(x + maxDistance); cellX++) {
+                for (long cellY = cell(y - maxDistance); cellY <= cell(y + maxDistance); cellY++) {
+                    Cell cell = cells.get(key(cellX, cellY));
+                    if (cell != null) {
+                        search.check(cell);
+                    }
+                }
+            }
+        }
+        return Optional.ofNullable(search.best);
+    }
+
+    /**
+     * The state of a {@link #nearest(double, double, double)} query.
+     */
+    private static final class Search {
+        private final double x;
+        private final double y;
+        private double maxDistanceSquared;
+        private Hit best;
+
+        private Search(double x, double y, double maxDistance) {
+            this.x = x;
+            this.y = y;
+            this.maxDistanceSquared = maxDistance * maxDistance;
+        }
+
+        private void check(Cell cell) {
+            for (int i = 0; i < cell.size; i++) {
+                Polyline polyline = cell.polylines[i];
+                int edge = cell.edges[i];
+                int end = polyline.end(edge);
+                double startX = polyline.xs[edge];
+                double startY = polyline.ys[edge];
+                double dx = polyline.xs[end] - startX;
+                double dy = polyline.ys[end] - startY;
+                double lengthSquared = dx * dx + dy * dy;
+                double t = lengthSquared == 0 ? 0 : ((x - startX) * dx + (y - startY) * dy) / lengthSquared;
+                t = Math.max(0, Math.min(1, t));
+                double closestX = startX + t * dx;
+                double closestY = startY + t * dy;
+                double distanceSquared = (x - closestX) * (x - closestX) + (y - closestY) * (y - closestY);
+                if (distanceSquared <= maxDistanceSquared) {
+                    maxDistanceSquared = distanceSquared;
+                    best = new Hit(polyline.segment, edge, closestX, closestY, Math.sqrt(distanceSquared));
+                }
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface CellConsumer {
+        void accept(long x, long y);
+    }
+
+    private long cell(double coordinate) {
+        return (long) Math.floor(coordinate / cellSize);
+    }
+
+    private static long key(long x, long y) {
+        // Long.hashCode of the packed coordinates would be x ^ y, which collides all over a grid, so the bits are
+        // mixed by an odd multiplier, which keeps keys unique
+        return ((x << 32) | (y & 0xFFFFFFFFL)) * 0x9E3779B97F4A7C15L;
+    }
+}
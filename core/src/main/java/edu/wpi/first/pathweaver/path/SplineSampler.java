@@ -0,0 +1,97 @@
+package edu.wpi.first.pathweaver.path;
+
+import edu.wpi.first.math.geometry.Translation2d;
+import edu.wpi.first.math.spline.QuinticHermiteSpline;
+import edu.wpi.first.math.spline.Spline;
+
+/**
+ * Samples a spline into a polyline with as few points as the curve needs.
+ *
+ * <p>The spline parameter is split in half until the middle of each interval is within a tolerance of the chord
+ * between its ends, so straight runs take a handful of points and tight turns are split until they look smooth.
+ * Every spline is split a few times first, so an S bend whose middle happens to lie on its chord is not mistaken for
+ * a straight line.
+ */
+public final class SplineSampler {
+    private static final int MIN_DEPTH = 2;
+    private static final int MAX_DEPTH = 10;
+
+    private SplineSampler() {
+        throw new UnsupportedOperationException("This is a utility class!");
+    }
+
+    /**
+     * Receives the points of a sampled spline, in order.
+     */
+    @FunctionalInterface
+    public interface PointConsumer {
+        /**
+         * Receives a point on the spline.
+         *
+         * @param x the x coordinate of the point
+         * @param y the y coordinate of the point
+         */
+        void accept(double x, double y);
+    }
+
+    /**
+     * Samples a spline from its start to its end.
+     *
+     * @param spline    the spline to sample
+     * @param tolerance how far the polyline may be from the spline, in the units of the spline
+     * @param consumer  receives the points of the polyline, including both ends of the spline
+     * @return the number of points
+     * @throws IllegalArgumentException if the tolerance is not positive
+     */
+    public static int sample(Spline spline, double tolerance, PointConsumer consumer) {
+        if (!(tolerance > 0)) {
+            throw new IllegalArgumentException("Tolerance must be positive, was " + tolerance);
+        }
+        Translation2d start = point(spline, 0);
+        Translation2d end = point(spline, 1);
+        consumer.accept(start.getX(), start.getY());
+        return 1 + subdivide(spline, 0, start, 1, end, 0, tolerance, consumer);
+    }
+
+    /**
+     * Creates the spline PathWeaver draws between two control points. Reversed paths are drawn from the end to the
+     * start, so the start of the spline is {@code end} if {@code start} is reversed.
+     *
+     * @param start the control point at the start of the segment
+     * @param end   the control point at the end of the segment
+     * @return the spline between the control points
+     */
+    public static QuinticHermiteSpline segment(ControlPoint start, ControlPoint end) {
+        ControlPoint p0 = start.isReversed() ? end : start;
+        ControlPoint p1 = start.isReversed() ? start : end;
+        return new QuinticHermiteSpline(
+                new double[] {p0.getX(), p0.getTangentX(), 0.0}, new double[] {p1.getX(), p1.getTangentX(), 0.0},
+                new double[] {p0.getY(), p0.getTangentY(), 0.0}, new double[] {p1.getY(), p1.getTangentY(), 0.0});
+    }
+
+    private static int subdivide(Spline spline, double t0, Translation2d p0, double t1, Translation2d p1, int depth,
+                                 double tolerance, PointConsumer consumer) {
+        double tm = (t0 + t1) / 2;
+        Translation2d middle = point(spline, tm);
+        if (depth >= MAX_DEPTH || (depth >= MIN_DEPTH && distanceToChord(middle, p0, p1) <= tolerance)) {
+            consumer.accept(p1.getX(), p1.getY());
+            return 1;
+        }
+        return subdivide(spline, t0, p0, tm, middle, depth + 1, tolerance, consumer)
+                + subdivide(spline, tm, middle, t1, p1, depth + 1, tolerance, consumer);
+    }
+
+    private static double distanceToChord(Translation2d point, Translation2d start, Translation2d end) {
+        double dx = end.getX() - start.getX();
+        double dy = end.getY() - start.getY();
+        double length = Math.hypot(dx, dy);
+        if (length == 0) {
+            return point.getDistance(start);
+        }
+        return Math.abs(dx * (point.getY() - start.getY()) - dy * (point.getX() - start.getX())) / length;
+    }
+
+    private static Translation2d point(Spline spline, double t) {
+        return spline.getPoint(t).orElseThrow().poseMeters.getTranslation();
+    }
+}
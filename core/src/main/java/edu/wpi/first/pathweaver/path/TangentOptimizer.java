@@ -0,0 +1,101 @@
+package edu.wpi.first.pathweaver.path;
+
+/**
+ * Calculates the optimal tangent lines for quintic hermite splines, based on the
+ * <a href="https://arxiv.org/pdf/1010.4615.pdf">following paper</a>.
+ *
+ * <p>This works on plain doubles and allocates nothing, so it is cheap enough to run for every drag event. The
+ * arithmetic is done in the same order as the original {@code Point2D} implementation, so both give exactly the same
+ * tangents, including the NaNs produced when the points before and after a waypoint coincide.
+ */
+public final class TangentOptimizer {
+    private static final double SQRT_3 = Math.sqrt(3);
+
+    private TangentOptimizer() {
+        throw new UnsupportedOperationException("This is a utility class!");
+    }
+
+    /**
+     * Calculates the optimal tangent of a waypoint given the waypoints right before and after it.
+     *
+     * @param x1      the x coordinate of the waypoint before this one
+     * @param y1      the y coordinate of the waypoint before this one
+     * @param x2      the x coordinate of this waypoint
+     * @param y2      the y coordinate of this waypoint
+     * @param x3      the x coordinate of the waypoint after this one
+     * @param y3      the y coordinate of the waypoint after this one
+     * @param tangent receives the x component of the tangent at index 0 and the y component at index 1
+     */
+    public static void optimalTangent(double x1, double y1, double x2, double y2, double x3, double y3,
+                                      double[] tangent) {
+        optimalTangent(x1, y1, x2, y2, x3, y3, tangent, 0, tangent, 1);
+    }
+
+    /**
+     * Calculates the optimal tangents of every waypoint of a path except the first and the last, in one pass.
+     *
+     * @param x        the x coordinates of the waypoints
+     * @param y        the y coordinates of the waypoints
+     * @param count    the number of waypoints
+     * @param tangentX receives the x components of the tangents; the first and last entries are not written
+     * @param tangentY receives the y components of the tangents; the first and last entries are not written
+     */
+    public static void optimalTangents(double[] x, double[] y, int count, double[] tangentX, double[] tangentY) {
+        for (int i = 1; i < count - 1; i++) {
+            optimalTangent(x[i - 1], y[i - 1], x[i], y[i], x[i + 1], y[i + 1], tangentX, i, tangentY, i);
+        }
+    }
+
+    @SuppressWarnings("PMD.ExcessiveParameterList")
+    private static void optimalTangent(double x1, double y1, double x2, double y2, double x3, double y3,
+                                       double[] tangentX, int indexX, double[] tangentY, int indexY) {
+        double p2x = x2 - x1;
+        double p2y = y2 - y1;
+        double p3x = x3 - x1;
+        double p3y = y3 - y1;
+        double scale = 1 / Math.sqrt(p3x * p3x + p3y * p3y);
+        double p2ScaledX = p2x * scale;
+        double p2ScaledY = p2y * scale;
+        double p3ScaledX = p3x * scale;
+        double p3ScaledY = p3y * scale;
+
+        double rx = p2ScaledX * p3ScaledX + p2ScaledY * p3ScaledY;
+        double ry = -p2ScaledX * p3ScaledY + p2ScaledY * p3ScaledX;
+        double rLength = Math.sqrt(rx * rx + ry * ry);
+
+        double beta = 1 - 2 * rx;
+        double gamma = Math.pow(4 * (rx - rLength * rLength) - 3, 3) / 27;
+        double lambda = Math.pow(-gamma, 1.0 / 6.0);
+
+        double sqrtGamma = Math.sqrt(-gamma - beta * beta);
+        double phi1 = Math.atan2(sqrtGamma, beta) / 3;
+        double ur = lambda * Math.cos(phi1);
+        double ui = lambda * Math.sin(phi1);
+        double phi2 = Math.atan2(-sqrtGamma, beta) / 3;
+
+        double zr = lambda * Math.cos(phi2);
+        double zi = lambda * Math.sin(phi2);
+
+        double t1 = 1.0 / 2 + ur + zr / 2;
+        double t2 = 1.0 / 2 - (1.0 / 4) * (ur + zr + SQRT_3 * (ui - zi));
+        double t3 = 1.0 / 2 - (1.0 / 4) * (ur + zr - SQRT_3 * (ui - zi));
+
+        double t;
+        if (t1 > 0 && t1 < 1) {
+            t = t1;
+        } else if (t2 > 0 && t2 < 1) {
+            t = t2;
+        } else {
+            t = t3;
+        }
+
+        double a1Scale = 1 / (t * t - t);
+        double a1x = (p2x - p3x * t) * a1Scale;
+        double a1y = (p2y - p3y * t) * a1Scale;
+        double a2x = p3x - a1x;
+        double a2y = p3y - a1y;
+
+        tangentX[indexX] = (a1x * (2 * t) + a2x) * (1. / 3);
+        tangentY[indexY] = (a1y * (2 * t) + a2y) * (1. / 3);
+    }
+}
@@ -0,0 +1,127 @@
+package edu.wpi.first.pathweaver.path;
+
+/**
+ * Picks the tangents of every waypoint of a path at once, so the whole path is as smooth as possible instead of each
+ * waypoint only looking at its neighbors like {@link TangentOptimizer} does.
+ *
+ * <p>Each segment is a quintic hermite spline with no second derivative at its ends, so the integral of the squared
+ * second (or third) derivative over a segment is a quadratic in the tangents at its two ends. Minimizing the sum over
+ * all segments gives a tridiagonal system, which is solved in linear time. Locked tangents are kept as they are and
+ * the others are chosen around them.
+ *
+ * <p>A solver reuses its buffers between calls, so it does not allocate once it has seen the largest path. It is not
+ * thread safe.
+ */
+public class TangentSolver {
+    /**
+     * What the solver minimizes.
+     */
+    public enum Objective {
+        /**
+         * The integral of the squared second derivative, which keeps the curvature low.
+         */
+        CURVATURE(9, 32, 25),
+        /**
+         * The integral of the squared third derivative, which keeps the curvature changing slowly.
+         */
+        JERK(7, 16, 15);
+
+        // Coefficients of the equation for a waypoint between two segments, scaled to small integers:
+        // neighbor * (v[i - 1] + v[i + 1]) + center * v[i] = chord * (p[i + 1] - p[i - 1])
+        // A waypoint at the end of the path only has one segment, so its center coefficient is halved.
+        private final double neighbor;
+        private final double center;
+        private final double chord;
+
+        Objective(double neighbor, double center, double chord) {
+            this.neighbor = neighbor;
+            this.center = center;
+            this.chord = chord;
+        }
+    }
+
+    private final Objective objective;
+    private double[] scale = new double[0];
+    private double[] offsetX = new double[0];
+    private double[] offsetY = new double[0];
+
+    /**
+     * Creates a solver.
+     *
+     * @param objective what to minimize
+     */
+    public TangentSolver(Objective objective) {
+        this.objective = objective;
+    }
+
+    public Objective getObjective() {
+        return objective;
+    }
+
+    /**
+     * Picks the tangents of every unlocked waypoint of a path.
+     *
+     * @param x        the x coordinates of the waypoints
+     * @param y        the y coordinates of the waypoints
+     * @param locked   whether the tangent of each waypoint is locked
+     * @param count    the number of waypoints
+     * @param tangentX the x components of the tangents; locked ones are read, the others are written
+     * @param tangentY the y components of the tangents; locked ones are read, the others are written
+     */
+    public void solve(double[] x, double[] y, boolean[] locked, int count, double[] tangentX, double[] tangentY) {
+        if (count < 2) {
+            return;
+        }
+        if (scale.length < count) {
+            scale = new double[count];
+            offsetX = new double[count];
+            offsetY = new double[count];
+        }
+
+        // Forward elimination, keeping only the upper diagonal and right hand side of each row
+        double previousScale = 0;
+        double previousX = 0;
+        double previousY = 0;
+        for (int i = 0; i < count; i++) {
+            double lower;
+            double diagonal;
+            double upper;
+            double rightX;
+            double rightY;
+            if (locked[i]) {
+                lower = 0;
+                diagonal = 1;
+                upper = 0;
+                rightX = tangentX[i];
+                rightY = tangentY[i];
+            } else {
+                boolean first = i == 0;
+                boolean last = i == count - 1;
+                lower = first ? 0 : objective.neighbor;
+                upper = last ? 0 : objective.neighbor;
+                diagonal = first || last ? objective.center / 2 : objective.center;
+                rightX = objective.chord * (x[last ? i : i + 1] - x[first ? i : i - 1]);
+                rightY = objective.chord * (y[last ? i : i + 1] - y[first ? i : i - 1]);
+            }
+            double pivot = diagonal - lower * previousScale;
+            previousScale = upper / pivot;
+            previousX = (rightX - lower * previousX) / pivot;
+            previousY = (rightY - lower * previousY) / pivot;
+            scale[i] = previousScale;
+            offsetX[i] = previousX;
+            offsetY[i] = previousY;
+        }
+
+        // Back substitution
+        double nextX = 0;
+        double nextY = 0;
+        for (int i = count - 1; i >= 0; i--) {
+            nextX = offsetX[i] - scale[i] * nextX;
+            nextY = offsetY[i] - scale[i] * nextY;
+            if (!locked[i]) {
+                tangentX[i] = nextX;
+                tangentY[i] = nextY;
+            }
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package edu.wpi.first.pathweaver;
+
+import com.google.gson.Gson;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ProjectValuesTest {
+    private static ProjectValues parse(String decimation) {
+        return new Gson().fromJson("{\"lengthUnit\": \"FOOT\", \"exportUnit\": \"Always Meters\", "
+                + "\"decimation\": " + decimation + ", \"maxVelocity\": 10.0, \"maxAcceleration\": 60.0, "
+                + "\"trackWidth\": 2.0, \"gameName\": \"Test Game\"}", ProjectValues.class);
+    }
+
+    @Test
+    public void validDecimationIsKept() {
+        ProjectValues values = parse("{\"position\": 0.1, \"heading\": 0.05, \"velocity\": 0.2}");
+
+        assertTrue(values.fillDefaults("Default Game"), "The export unit is set");
+        assertEquals(0.1, values.getDecimation().getPosition(), "Wrong position tolerance");
+        assertEquals(0.05, values.getDecimation().getHeading(), "Wrong heading tolerance");
+        assertEquals(0.2, values.getDecimation().getVelocity(), "Wrong velocity tolerance");
+    }
+
+    @Test
+    public void nonPositiveDecimationIsRejected() {
+        ProjectValues values = parse("{\"position\": 0.0, \"heading\": 0.05, \"velocity\": 0.2}");
+
+        assertThrows(IllegalArgumentException.class, () -> values.fillDefaults("Default Game"));
+        ProjectValues fixed = values.withoutDecimation();
+        assertNull(fixed.getDecimation(), "Decimation should be turned off");
+        assertEquals("Test Game", fixed.getGameName(), "The other values should be kept");
+        assertEquals(10.0, fixed.getMaxVelocity(), "The other values should be kept");
+    }
+
+    @Test
+    public void missingExportUnitIsDefaulted() {
+        ProjectValues values = new Gson().fromJson("{\"lengthUnit\": \"FOOT\"}", ProjectValues.class);
+
+        assertFalse(values.fillDefaults("Default Game"), "The export unit was missing");
+        assertEquals(ExportUnit.SAME, values.getExportUnit(), "Wrong default export unit");
+        assertEquals("Default Game", values.getGameName(), "Wrong default game");
+    }
+}
@@ -0,0 +1,76 @@
+package edu.wpi.first.pathweaver.build;
+
+import edu.wpi.first.pathweaver.export.ExportSettings;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import tech.units.indriya.unit.Units;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BuildCacheTest {
+    private static final byte[] PATH_FILE = ("X,Y,Tangent X,Tangent Y,Fixed Theta,Reversed,Name\n"
+            + "1.0,-4.0,3.0,0.0,true,false,\n"
+            + "6.0,-2.0,3.0,0.0,true,false,\n").getBytes(StandardCharsets.UTF_8);
+    private static final ExportSettings SETTINGS = new ExportSettings(3.0, 2.0, 0.6, 8.2,
+            Units.METRE.getConverterTo(Units.METRE));
+
+    private BuildCache cache;
+    private Path output;
+
+    @BeforeEach
+    public void initialize(@TempDir Path temp) {
+        cache = BuildCache.forProject(temp);
+        output = temp.resolve("output");
+    }
+
+    @Test
+    public void keyIsStable() {
+        assertEquals(cache.key(PATH_FILE, SETTINGS, output), cache.key(PATH_FILE.clone(), SETTINGS, output),
+                "Identical inputs should have identical keys");
+    }
+
+    @Test
+    public void keyDependsOnInputs() {
+        String key = cache.key(PATH_FILE, SETTINGS, output);
+        byte[] edited = PATH_FILE.clone();
+        edited[edited.length - 10] = '1';
+        ExportSettings faster = new ExportSettings(4.0, 2.0, 0.6, 8.2,
+                Units.METRE.getConverterTo(Units.METRE));
+        ExportSettings imperial = new ExportSettings(3.0, 2.0, 0.6, 8.2,
+                Units.METRE.multiply(0.3048).getConverterTo(Units.METRE));
+
+        assertNotEquals(key, cache.key(edited, SETTINGS, output), "Editing the path should change the key");
+        assertNotEquals(key, cache.key(PATH_FILE, faster, output), "Changing a setting should change the key");
+        assertNotEquals(key, cache.key(PATH_FILE, imperial, output), "Changing units should change the key");
+        assertNotEquals(key, cache.key(PATH_FILE, SETTINGS, output.resolve("other")),
+                "Changing the output directory should change the key");
+    }
+
+    @Test
+    public void freshOnlyAfterStoreWithOutputs() throws IOException {
+        String key = cache.key(PATH_FILE, SETTINGS, output);
+        Path json = output.resolve("Test.wpilib.json");
+        List<Path> outputs = List.of(json);
+        assertFalse(cache.isFresh("Test", key, outputs), "Nothing has been built yet");
+
+        cache.store("Test", key, 2.5);
+        assertFalse(cache.isFresh("Test", key, outputs), "Outputs have not been written");
+        assertEquals(2.5, cache.duration("Test").getAsDouble(), "The duration should be stored with the key");
+
+        Files.createDirectories(output);
+        Files.writeString(json, "[]");
+        assertTrue(cache.isFresh("Test", key, outputs), "Stored key with existing outputs should be fresh");
+        assertFalse(cache.isFresh("Test", cache.key(PATH_FILE, SETTINGS, output.resolve("other")), outputs),
+                "A different key should not be fresh");
+    }
+}
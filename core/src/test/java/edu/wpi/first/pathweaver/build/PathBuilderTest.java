@@ -0,0 +1,134 @@
+package edu.wpi.first.pathweaver.build;
+
+import edu.wpi.first.pathweaver.export.ExportManifest;
+import edu.wpi.first.pathweaver.export.ExportSettings;
+import edu.wpi.first.pathweaver.export.TrajectoryBundle;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import tech.units.indriya.unit.Units;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PathBuilderTest {
+    private static final byte[] PATH_FILE = ("X,Y,Tangent X,Tangent Y,Fixed Theta,Reversed,Name\n"
+            + "1.0,-4.0,3.0,0.0,true,false,\n"
+            + "6.0,-2.0,3.0,0.0,true,false,\n").getBytes(StandardCharsets.UTF_8);
+    // Ends facing back towards its start, which WPILib cannot parameterize
+    private static final byte[] MALFORMED_PATH_FILE = ("X,Y,Tangent X,Tangent Y,Fixed Theta,Reversed,Name\n"
+            + "1.0,-4.0,1.2,0.0,true,false,\n"
+            + "2.0,-4.0,-1.2,0.0,true,false,\n").getBytes(StandardCharsets.UTF_8);
+    private static final ExportSettings SETTINGS = new ExportSettings(3.0, 2.0, 0.6, 8.2,
+            Units.METRE.getConverterTo(Units.METRE)).withBundle(true);
+    // Runs every path on the calling thread, so a build is complete when build() returns
+    private static final Executor SAME_THREAD = Runnable::run;
+
+    private Path project;
+    private Path pathDirectory;
+    private Path output;
+
+    @BeforeEach
+    public void initialize(@TempDir Path temp) throws IOException {
+        project = temp;
+        pathDirectory = Files.createDirectories(temp.resolve("Paths"));
+        output = temp.resolve("output");
+    }
+
+    private void writePaths(String... names) throws IOException {
+        for (String name : names) {
+            Files.write(pathDirectory.resolve(name), name.startsWith("Malformed") ? MALFORMED_PATH_FILE : PATH_FILE);
+        }
+    }
+
+    private static List<String> names(List<BuildResult> results) {
+        return results.stream().map(BuildResult::getPathName).collect(Collectors.toList());
+    }
+
+    @Test
+    public void resultsAreInInputOrder() throws IOException {
+        writePaths("Zeta.path", "Alpha.path", "Middle.path");
+        PathBuilder builder = new PathBuilder(SETTINGS, BuildCache.forProject(project), SAME_THREAD);
+
+        BuildReport report = builder.build(pathDirectory, List.of("Zeta.path", "Alpha.path", "Middle.path"), output)
+                .join();
+
+        assertEquals(List.of("Zeta", "Alpha", "Middle"), names(report.getResults()), "Results should keep the order");
+        assertTrue(report.isSuccess(), "Every path should be built: " + report.getFailures());
+    }
+
+    @Test
+    public void failureDoesNotAffectOtherPaths() throws IOException {
+        writePaths("First.path", "Malformed.path", "Last.path");
+        PathBuilder builder = new PathBuilder(SETTINGS, BuildCache.forProject(project), SAME_THREAD);
+
+        BuildReport report = builder.build(pathDirectory,
+                List.of("First.path", "Malformed.path", "Missing.path", "Last.path"), output).join();
+
+        List<BuildResult> results = report.getResults();
+        assertEquals(List.of("First", "Malformed", "Missing", "Last"), names(results), "Every path needs a result");
+        assertTrue(results.get(0).isSuccess(), "A path before the failures should be built");
+        assertFalse(results.get(1).isSuccess(), "The malformed path should fail");
+        assertFalse(results.get(2).isSuccess(), "The missing path should fail");
+        assertTrue(results.get(3).isSuccess(), "A path after the failures should be built");
+        assertEquals(List.of(), report.getErrors(), "The bundle and manifest should still be written");
+        assertTrue(Files.exists(output.resolve(TrajectoryBundle.FILE_NAME)), "The bundle should be written");
+    }
+
+    @Test
+    public void concurrentErrorsReachTheirOwnPath() throws IOException {
+        List<String> pathNames = new ArrayList<>();
+        for (int i = 0; i < 32; i++) {
+            pathNames.add((i % 2 == 0 ? "Malformed" : "Good") + i + ".path");
+        }
+        writePaths(pathNames.toArray(new String[0]));
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            BuildReport report = new PathBuilder(SETTINGS, BuildCache.forProject(project), pool)
+                    .build(pathDirectory, pathNames, output).join();
+
+            for (BuildResult result : report.getResults()) {
+                assertEquals(result.getPathName().startsWith("Good"), result.isSuccess(),
+                        "Only malformed paths should fail: " + result);
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void cancelSkipsRemainingPathsAndSharedFiles() throws IOException {
+        writePaths("First.path", "Second.path", "Third.path");
+        PathBuilder builder = new PathBuilder(SETTINGS, BuildCache.forProject(project), SAME_THREAD);
+
+        BuildReport report = builder.build(pathDirectory, List.of("First.path", "Second.path", "Third.path"), output,
+                new PathBuilder.Listener() {
+                    @Override
+                    public void pathStarted(String name) {
+                        builder.cancel();
+                    }
+                }).join();
+
+        List<BuildResult> results = report.getResults();
+        assertTrue(report.isCancelled(), "The build should be cancelled");
+        assertEquals(3, results.size(), "Every path should have a result");
+        assertNotEquals(BuildResult.CANCELLED, results.get(0).getMessage(), "The started path should be finished");
+        assertEquals(BuildResult.CANCELLED, results.get(1).getMessage(), "Paths not started should be cancelled");
+        assertEquals(BuildResult.CANCELLED, results.get(2).getMessage(), "Paths not started should be cancelled");
+        assertFalse(Files.exists(output.resolve(TrajectoryBundle.FILE_NAME)), "The bundle should not be written");
+        assertFalse(Files.exists(output.resolve(ExportManifest.FILE_NAME)), "The manifest should not be written");
+    }
+}
@@ -0,0 +1,65 @@
+package edu.wpi.first.pathweaver.export;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ExportManifestTest {
+    private static final FileTime OLD = FileTime.fromMillis(0);
+
+    @Test
+    public void listsHashSizeAndDuration(@TempDir Path temp) throws IOException {
+        Path json = temp.resolve("Test.wpilib.json");
+        Files.writeString(json, "abc");
+        Path bundle = temp.resolve(TrajectoryBundle.FILE_NAME);
+        Files.write(bundle, new byte[8]);
+
+        ExportManifest.write(temp, List.of(new ExportManifest.Entry("Test", 2.5, List.of(json))), List.of(bundle));
+
+        JsonNode manifest = new ObjectMapper().readTree(temp.resolve(ExportManifest.FILE_NAME).toFile());
+        assertEquals(ExportManifest.VERSION, manifest.get("version").asInt(), "Wrong version");
+        JsonNode trajectory = manifest.get("trajectories").get(0);
+        assertEquals("Test", trajectory.get("name").asText(), "Wrong name");
+        assertEquals(2.5, trajectory.get("duration").asDouble(), "Wrong duration");
+        JsonNode file = trajectory.get("files").get(0);
+        assertEquals("Test.wpilib.json", file.get("file").asText(), "File names should be relative");
+        assertEquals(3, file.get("size").asInt(), "Wrong size");
+        assertEquals("ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad", file.get("sha256").asText(),
+                "Wrong hash");
+        assertEquals(TrajectoryBundle.FILE_NAME, manifest.get("files").get(0).get("file").asText(),
+                "Shared files should be listed");
+    }
+
+    @Test
+    public void unchangedFilesAreNotRewritten(@TempDir Path temp) throws IOException {
+        Path file = temp.resolve("Test.wpilib.pb");
+        assertTrue(replace(file, "contents"), "A new file should be written");
+        Files.setLastModifiedTime(file, OLD);
+
+        assertFalse(replace(file, "contents"), "Identical contents should be skipped");
+        assertEquals(OLD, Files.getLastModifiedTime(file), "Skipped files should keep their modification time");
+        assertFalse(Files.exists(OutputFiles.tempFile(file)), "The temporary file should be deleted");
+
+        assertTrue(replace(file, "changed"), "Changed contents should be written");
+        assertEquals("changed", Files.readString(file), "Wrong contents");
+        assertFalse(Files.exists(OutputFiles.tempFile(file)), "The temporary file should be moved away");
+    }
+
+    private static boolean replace(Path file, String contents) throws IOException {
+        Path written = OutputFiles.tempFile(file);
+        Files.writeString(written, contents, StandardCharsets.UTF_8);
+        return OutputFiles.replaceIfChanged(file, written);
+    }
+}
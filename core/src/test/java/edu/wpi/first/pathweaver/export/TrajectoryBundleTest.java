@@ -0,0 +1,123 @@
+package edu.wpi.first.pathweaver.export;
+
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.math.trajectory.Trajectory;
+import edu.wpi.first.pathweaver.runtime.BundledTrajectory;
+import edu.wpi.first.pathweaver.runtime.TrajectoryBundleReader;
+import edu.wpi.first.pathweaver.runtime.TrajectorySample;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class TrajectoryBundleTest {
+    @Test
+    public void indexPointsAtRecords(@TempDir Path temp) throws IOException {
+        Path first = temp.resolve("Left.states");
+        Path second = temp.resolve("Right.states");
+        TrajectoryBundle.writeRecords(trajectory(3), 8.0, first);
+        TrajectoryBundle.writeRecords(trajectory(5), 8.0, second);
+        Path bundle = temp.resolve(TrajectoryBundle.FILE_NAME);
+        TrajectoryBundle.write(bundle, List.of("Left", "Right"), List.of(first, second));
+
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(bundle)).order(ByteOrder.LITTLE_ENDIAN);
+        assertEquals(TrajectoryBundle.MAGIC, buffer.getInt(0), "Wrong magic number");
+        assertEquals(TrajectoryBundle.VERSION, buffer.getInt(4), "Wrong version");
+        assertEquals(2, buffer.getInt(8), "Wrong trajectory count");
+
+        int entry = TrajectoryBundle.HEADER_BYTES + TrajectoryBundle.INDEX_ENTRY_BYTES;
+        byte[] name = new byte[buffer.getInt(entry + 4)];
+        buffer.position(buffer.getInt(entry));
+        buffer.get(name);
+        assertEquals("Right", new String(name, StandardCharsets.UTF_8), "Wrong name");
+
+        long offset = buffer.getLong(entry + 8);
+        assertEquals(0, offset % Double.BYTES, "States should be aligned");
+        assertEquals(5, buffer.getInt(entry + 16), "Wrong state count");
+        assertEquals(0.4, buffer.getDouble(entry + 24), "Wrong duration");
+
+        int last = (int) offset + 4 * TrajectoryBundle.RECORD_BYTES;
+        assertEquals(0.4, buffer.getDouble(last), "Wrong time");
+        assertEquals(4.0, buffer.getDouble(last + 4 * Double.BYTES), "Wrong y");
+        assertEquals(buffer.capacity(), last + TrajectoryBundle.RECORD_BYTES, "Records should end the file");
+    }
+
+    @Test
+    public void runtimeReaderRoundTrip(@TempDir Path temp) throws IOException {
+        Path records = temp.resolve("Test.states");
+        TrajectoryBundle.writeRecords(trajectory(5), 8.0, records);
+        Path bundle = temp.resolve(TrajectoryBundle.FILE_NAME);
+        TrajectoryBundle.write(bundle, List.of("Test"), List.of(records));
+
+        TrajectoryBundleReader reader = TrajectoryBundleReader.open(bundle);
+        assertEquals(0.4, reader.getDuration("Test"), "Wrong duration");
+        BundledTrajectory trajectory = reader.getTrajectory("Test");
+        TrajectorySample sample = new TrajectorySample();
+
+        trajectory.sample(0.25, sample);
+        assertEquals(0.25, sample.getX(), 1e-12, "Constant velocity should interpolate linearly");
+        assertEquals(4.0, sample.getY(), 1e-12, "Wrong y");
+        trajectory.sampleByDistance(trajectory.getLength(), sample);
+        assertEquals(0.4, sample.getTime(), "The end of the trajectory should be the last state");
+    }
+
+    @Test
+    public void runtimeSamplesDecimatedCurveLikeWpilib(@TempDir Path temp) throws IOException {
+        DecimationTolerance tolerance = new DecimationTolerance(0.01, 0.01, 0.01);
+        Trajectory generated = curve();
+        Trajectory decimated = TrajectoryDecimator.decimate(generated, tolerance);
+        Path records = temp.resolve("Curve.states");
+        TrajectoryBundle.writeRecords(decimated, 0.0, records);
+        Path bundle = temp.resolve(TrajectoryBundle.FILE_NAME);
+        TrajectoryBundle.write(bundle, List.of("Curve"), List.of(records));
+
+        BundledTrajectory trajectory = TrajectoryBundleReader.open(bundle).getTrajectory("Curve");
+        TrajectorySample sample = new TrajectorySample();
+        for (Trajectory.State state : generated.getStates()) {
+            double t = state.timeSeconds;
+            Trajectory.State expected = decimated.sample(t);
+            trajectory.sample(t, sample);
+            assertEquals(expected.poseMeters.getX(), sample.getX(), 1e-9, "x at " + t);
+            assertEquals(expected.poseMeters.getY(), sample.getY(), 1e-9, "y at " + t);
+            assertEquals(expected.poseMeters.getRotation().getRadians(), sample.getHeading(), 1e-9, "Heading at " + t);
+            assertEquals(expected.velocityMetersPerSecond, sample.getVelocity(), 1e-9, "Velocity at " + t);
+            assertEquals(expected.curvatureRadPerMeter, sample.getCurvature(), 1e-9, "Curvature at " + t);
+            assertEquals(0, Math.hypot(state.poseMeters.getX() - sample.getX(),
+                    state.poseMeters.getY() - sample.getY()), tolerance.getPosition(), "Position error at " + t);
+        }
+    }
+
+    /**
+     * A quarter circle of radius 2, driven from rest with constant acceleration.
+     */
+    private static Trajectory curve() {
+        List<Trajectory.State> list = new ArrayList<>();
+        for (int i = 0; i <= 200; i++) {
+            double t = i * 0.02;
+            double s = Math.PI * t * t / 16;
+            double angle = s / 2;
+            list.add(new Trajectory.State(t, Math.PI * t / 8, Math.PI / 8,
+                    new Pose2d(2 * Math.sin(angle), 2 - 2 * Math.cos(angle), new Rotation2d(angle)), 0.5));
+        }
+        return new Trajectory(list);
+    }
+
+    private static Trajectory trajectory(int states) {
+        List<Trajectory.State> list = new ArrayList<>();
+        for (int i = 0; i < states; i++) {
+            list.add(new Trajectory.State(i * 0.1, 1.0, 0.0,
+                    new Pose2d(i * 0.1, -4.0, new Rotation2d(0.0)), 0.0));
+        }
+        return new Trajectory(list);
+    }
+}
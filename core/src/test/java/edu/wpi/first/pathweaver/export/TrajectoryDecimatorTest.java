@@ -0,0 +1,76 @@
+package edu.wpi.first.pathweaver.export;
+
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.math.trajectory.Trajectory;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TrajectoryDecimatorTest {
+    private static final DecimationTolerance TOLERANCE = new DecimationTolerance(0.01, 0.01, 0.01);
+
+    @Test
+    public void straightLineKeepsEnds() {
+        List<Trajectory.State> states = new ArrayList<>();
+        for (int i = 0; i <= 100; i++) {
+            double t = i * 0.01;
+            states.add(new Trajectory.State(t, 1.0, 0.0, new Pose2d(t, 2.0, new Rotation2d(0.0)), 0.0));
+        }
+        Trajectory decimated = TrajectoryDecimator.decimate(new Trajectory(states), TOLERANCE);
+
+        assertEquals(List.of(states.get(0), states.get(100)), decimated.getStates(), "Only the ends are needed");
+    }
+
+    @Test
+    public void removedStatesAreWithinTolerance() {
+        Trajectory generated = accelerating();
+        Trajectory decimated = TrajectoryDecimator.decimate(generated, TOLERANCE);
+
+        List<Trajectory.State> kept = decimated.getStates();
+        assertTrue(kept.size() < generated.getStates().size() / 2, "Too few states removed: " + kept.size());
+        assertEquals(generated.getStates().get(0), kept.get(0), "The first state should be kept");
+        assertEquals(generated.getStates().get(200), kept.get(kept.size() - 1), "The last state should be kept");
+        for (Trajectory.State state : generated.getStates()) {
+            Trajectory.State sampled = decimated.sample(state.timeSeconds);
+            double t = state.timeSeconds;
+            assertEquals(state.poseMeters.getX(), sampled.poseMeters.getX(), TOLERANCE.getPosition(), "x at " + t);
+            assertEquals(state.poseMeters.getY(), sampled.poseMeters.getY(), TOLERANCE.getPosition(), "y at " + t);
+            assertEquals(state.velocityMetersPerSecond, sampled.velocityMetersPerSecond, TOLERANCE.getVelocity(),
+                    "Velocity at " + t);
+        }
+    }
+
+    @Test
+    public void reportCountsStatesAndBytes() {
+        Trajectory generated = accelerating();
+        Trajectory decimated = TrajectoryDecimator.decimate(generated, TOLERANCE);
+        ExportSettings settings = new ExportSettings(1, 1, 1, 8, null).withFormat(ExportFormat.PROTOBUF);
+
+        DecimationReport report = TrajectoryExporter.report(generated, decimated, settings);
+        assertEquals(201, report.getStatesBefore(), "Wrong state count before");
+        assertEquals(decimated.getStates().size(), report.getStatesAfter(), "Wrong state count after");
+        // Seven packed fields of doubles, each with a one byte tag and a two byte length
+        assertEquals(7 * (3 + 201 * Double.BYTES), report.getBytesBefore(), "Wrong size before");
+        assertTrue(report.getBytesAfter() < report.getBytesBefore(), "Decimation should shrink the export");
+    }
+
+    /**
+     * Drives two meters along a diagonal with an acceleration that increases over time.
+     */
+    private static Trajectory accelerating() {
+        List<Trajectory.State> states = new ArrayList<>();
+        for (int i = 0; i <= 200; i++) {
+            double t = i * 0.01;
+            double distance = t * t * t / 4;
+            states.add(new Trajectory.State(t, 0.75 * t * t, 1.5 * t,
+                    new Pose2d(distance * Math.sqrt(0.5), distance * Math.sqrt(0.5), new Rotation2d(Math.PI / 4)),
+                    0.0));
+        }
+        return new Trajectory(states);
+    }
+}
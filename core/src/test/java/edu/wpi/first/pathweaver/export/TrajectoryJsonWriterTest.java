@@ -0,0 +1,51 @@
+package edu.wpi.first.pathweaver.export;
+
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.math.trajectory.Trajectory;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class TrajectoryJsonWriterTest {
+    @ParameterizedTest
+    @CsvSource({
+            "0.0, 0.0",
+            "-0.0, -0.0",
+            "1.0, 1.0",
+            "-2.5, -2.5",
+            "0.0001, 0.0001",
+            "0.00001, 1e-05",
+            "0.000015, 1.5e-05",
+            "123456789012345.0, 123456789012345.0",
+            "1e15, 1e+15",
+            "0.30000000000000004, 0.30000000000000004",
+            "2e23, 2e+23",
+            "8.41e21, 8.41e+21",
+            "NaN, null"
+    })
+    public void formatsLikeWpilib(double value, String expected) {
+        assertEquals(expected, TrajectoryJsonWriter.formatDouble(value));
+    }
+
+    @Test
+    public void writesStatesWithOffset() throws IOException {
+        Trajectory trajectory = new Trajectory(List.of(
+                new Trajectory.State(0.0, 0.0, 2.0, new Pose2d(1.0, -4.0, new Rotation2d(0.5)), 0.0),
+                new Trajectory.State(0.25, 0.5, 2.0, new Pose2d(1.0625, -3.75, new Rotation2d(0.5)), 0.125)));
+        StringWriter writer = new StringWriter();
+        TrajectoryJsonWriter.write(trajectory, 8.0, writer);
+
+        assertEquals("[{\"acceleration\":2.0,\"curvature\":0.0,\"pose\":{\"rotation\":{\"radians\":0.5},"
+                + "\"translation\":{\"x\":1.0,\"y\":4.0}},\"time\":0.0,\"velocity\":0.0},"
+                + "{\"acceleration\":2.0,\"curvature\":0.125,\"pose\":{\"rotation\":{\"radians\":0.5},"
+                + "\"translation\":{\"x\":1.0625,\"y\":4.25}},\"time\":0.25,\"velocity\":0.5}]",
+                writer.toString());
+    }
+}
@@ -0,0 +1,61 @@
+package edu.wpi.first.pathweaver.export;
+
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.math.trajectory.Trajectory;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class TrajectoryProtobufWriterTest {
+    @Test
+    public void writesPackedColumns() throws IOException {
+        List<Trajectory.State> states = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            states.add(new Trajectory.State(i * 0.02, i * 0.1, 5.0,
+                    new Pose2d(i * 0.01, -4.0 + i * 0.001, new Rotation2d(i * 0.05)), 0.5));
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        TrajectoryProtobufWriter.write(new Trajectory(states), 8.0, out);
+
+        ByteBuffer buffer = ByteBuffer.wrap(out.toByteArray()).order(ByteOrder.LITTLE_ENDIAN);
+        double[][] columns = new double[8][];
+        while (buffer.hasRemaining()) {
+            int tag = buffer.get();
+            assertEquals(2, tag & 0x7, "Repeated doubles should be packed");
+            int length = buffer.get();
+            double[] column = new double[length / Double.BYTES];
+            for (int i = 0; i < column.length; i++) {
+                column[i] = buffer.getDouble();
+            }
+            columns[tag >> 3] = column;
+        }
+
+        for (int i = 0; i < states.size(); i++) {
+            Trajectory.State state = states.get(i);
+            double[] expected = {state.timeSeconds, state.velocityMetersPerSecond,
+                    state.accelerationMetersPerSecondSq, state.poseMeters.getX(), state.poseMeters.getY() + 8.0,
+                    state.poseMeters.getRotation().getRadians(), state.curvatureRadPerMeter};
+            double[] actual = new double[7];
+            for (int field = 1; field <= 7; field++) {
+                actual[field - 1] = columns[field][i];
+            }
+            assertArrayEquals(expected, actual, "State " + i + " does not match");
+        }
+    }
+
+    @Test
+    public void emptyTrajectoryIsEmptyMessage() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        TrajectoryProtobufWriter.write(new Trajectory(List.of()), 8.0, out);
+        assertEquals(0, out.size(), "Empty repeated fields should be omitted");
+    }
+}
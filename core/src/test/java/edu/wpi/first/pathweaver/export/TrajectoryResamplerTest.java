@@ -0,0 +1,87 @@
+package edu.wpi.first.pathweaver.export;
+
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.math.trajectory.Trajectory;
+import edu.wpi.first.pathweaver.runtime.BundledTrajectory;
+import edu.wpi.first.pathweaver.runtime.TrajectoryBundleReader;
+import edu.wpi.first.pathweaver.runtime.TrajectorySample;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.DoubleFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TrajectoryResamplerTest {
+    private static final double GENERATED_STEP = 0.01;
+
+    @Test
+    public void resampleUsesUniformGrid() {
+        Trajectory resampled = TrajectoryResampler.resample(arc(), 0.1);
+
+        List<Trajectory.State> states = resampled.getStates();
+        assertEquals(17, states.size(), "Wrong state count");
+        for (int i = 0; i < states.size() - 1; i++) {
+            assertEquals(i * 0.1, states.get(i).timeSeconds, 1e-9, "State " + i + " is off the grid");
+        }
+        assertEquals(1.57, resampled.getTotalTimeSeconds(), 1e-9, "The last state should be the end");
+    }
+
+    @Test
+    public void errorOfArcIsChordSagitta() {
+        Trajectory arc = arc();
+        Trajectory resampled = TrajectoryResampler.resample(arc, 0.1);
+
+        // A chord spanning 0.1 rad of a unit circle is 1 - cos(0.05) from the arc at its middle
+        assertEquals(1 - Math.cos(0.05), TrajectoryResampler.maxInterpolationError(arc, resampled), 1e-4,
+                "Wrong interpolation error");
+    }
+
+    @Test
+    public void straightLineHasNoError() {
+        Trajectory line = generated(1.0, t -> new Pose2d(t, 2.0, new Rotation2d(0.0)));
+        Trajectory resampled = TrajectoryResampler.resample(line, 0.02);
+
+        assertEquals(0.0, TrajectoryResampler.maxInterpolationError(line, resampled), 1e-12, "Lines should be exact");
+    }
+
+    @Test
+    public void runtimeReaderIndexesResampledTrajectory(@TempDir Path temp) throws IOException {
+        Trajectory line = generated(1.0, t -> new Pose2d(t, 2.0, new Rotation2d(0.0)));
+        Path records = temp.resolve("Line.states");
+        TrajectoryBundle.writeRecords(TrajectoryResampler.resample(line, 0.02), 0.0, records);
+        Path bundle = temp.resolve(TrajectoryBundle.FILE_NAME);
+        TrajectoryBundle.write(bundle, List.of("Line"), List.of(records));
+
+        BundledTrajectory trajectory = TrajectoryBundleReader.open(bundle).getTrajectory("Line");
+        TrajectorySample sample = new TrajectorySample();
+        assertTrue(trajectory.isUniform(), "Resampled states should be found by index");
+        for (double t : new double[] {0.0, 0.02, 0.137, 0.5, 0.999, 1.0}) {
+            trajectory.sample(t, sample);
+            assertEquals(t, sample.getX(), 1e-9, "Wrong x at " + t);
+        }
+    }
+
+    /**
+     * A quarter of a unit circle driven at 1 m/s.
+     */
+    private static Trajectory arc() {
+        return generated(1.57, t -> new Pose2d(Math.sin(t), 1 - Math.cos(t), new Rotation2d(t)));
+    }
+
+    private static Trajectory generated(double duration, DoubleFunction<Pose2d> pose) {
+        List<Trajectory.State> states = new ArrayList<>();
+        int steps = (int) Math.round(duration / GENERATED_STEP);
+        for (int i = 0; i <= steps; i++) {
+            double t = i * GENERATED_STEP;
+            states.add(new Trajectory.State(t, 1.0, 0.0, pose.apply(t), 0.0));
+        }
+        return new Trajectory(states);
+    }
+}
@@ -0,0 +1,90 @@
+package edu.wpi.first.pathweaver.path;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class PathTransformTest {
+    private static final double DELTA = 1e-12;
+
+    @Test
+    public void translationMovesPointsButNotVectors() {
+        PathTransform transform = PathTransform.translation(2, -3);
+        double[] points = {0, 0, 1, -1};
+        double[] vectors = {1, 0, 0, 1};
+
+        transform.apply(points, 2);
+        transform.applyToVectors(vectors, 2);
+
+        assertArrayEquals(new double[] {2, -3, 3, -4}, points, DELTA, "Points should be moved");
+        assertArrayEquals(new double[] {1, 0, 0, 1}, vectors, DELTA, "Vectors should not be moved");
+    }
+
+    @Test
+    public void rotationTurnsAroundPivot() {
+        PathTransform transform = PathTransform.rotation(Math.PI / 2, 1, -1);
+        double[] points = {1, -1, 3, -1};
+        double[] vectors = {1, 0};
+
+        transform.apply(points, 2);
+        transform.applyToVectors(vectors, 1);
+
+        assertArrayEquals(new double[] {1, -1, 1, 1}, points, DELTA, "Points should turn around the pivot");
+        assertArrayEquals(new double[] {0, 1}, vectors, DELTA, "Vectors should turn");
+    }
+
+    @Test
+    public void scaleKeepsPivot() {
+        PathTransform transform = PathTransform.scale(2, 1, 1);
+        double[] points = {1, 1, 2, 0};
+        double[] vectors = {1, -1};
+
+        transform.apply(points, 2);
+        transform.applyToVectors(vectors, 1);
+
+        assertArrayEquals(new double[] {1, 1, 3, -1}, points, DELTA, "Points should move away from the pivot");
+        assertArrayEquals(new double[] {2, -2}, vectors, DELTA, "Vectors should be scaled");
+    }
+
+    @Test
+    public void mirrorFlipsOneAxis() {
+        double[] points = {1, -2};
+        double[] vectors = {3, 4};
+
+        PathTransform.mirrorX(5).apply(points, 1);
+        PathTransform.mirrorX(5).applyToVectors(vectors, 1);
+        assertArrayEquals(new double[] {9, -2}, points, DELTA, "Only x should be mirrored");
+        assertArrayEquals(new double[] {-3, 4}, vectors, DELTA, "Only x should be mirrored");
+
+        PathTransform.mirrorY(-4).apply(points, 1);
+        PathTransform.mirrorY(-4).applyToVectors(vectors, 1);
+        assertArrayEquals(new double[] {9, -6}, points, DELTA, "Only y should be mirrored");
+        assertArrayEquals(new double[] {-3, -4}, vectors, DELTA, "Only y should be mirrored");
+    }
+
+    @Test
+    public void thenAppliesInOrder() {
+        PathTransform transform = PathTransform.translation(1, 0).then(PathTransform.rotation(Math.PI / 2, 0, 0));
+        double[] points = {1, 0};
+
+        transform.apply(points, 1);
+
+        assertArrayEquals(new double[] {0, 2}, points, DELTA, "The translation should be applied first");
+    }
+
+    @Test
+    public void onlyTransformsCount() {
+        double[] points = {1, 1, 1, 1};
+
+        PathTransform.translation(1, 1).apply(points, 1);
+
+        assertArrayEquals(new double[] {2, 2, 1, 1}, points, DELTA, "Points past the count should be kept");
+    }
+
+    @Test
+    public void scaleMustBeInvertible() {
+        assertThrows(IllegalArgumentException.class, () -> PathTransform.scale(0, 0, 0));
+        assertThrows(IllegalArgumentException.class, () -> PathTransform.scale(Double.NaN, 0, 0));
+    }
+}
@@ -0,0 +1,137 @@
+package edu.wpi.first.pathweaver.path;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SegmentIndexTest {
+    @Test
+    public void findsClosestSegment() {
+        SegmentIndex index = new SegmentIndex(1);
+        index.put(0, new double[] {0, 10}, new double[] {0, 0}, 2);
+        index.put(1, new double[] {0, 10}, new double[] {2, 2}, 2);
+
+        SegmentIndex.Hit hit = index.nearest(4, 1.5, 1).orElseThrow();
+
+        assertEquals(1, hit.getSegment(), "Wrong segment");
+        assertEquals(0, hit.getEdge(), "Wrong edge");
+        assertEquals(4, hit.getX(), 1e-9, "Wrong closest point");
+        assertEquals(2, hit.getY(), 1e-9, "Wrong closest point");
+        assertEquals(0.5, hit.getDistance(), 1e-9, "Wrong distance");
+    }
+
+    @Test
+    public void nothingWithinDistance() {
+        SegmentIndex index = new SegmentIndex(1);
+        index.put(0, new double[] {0, 10}, new double[] {0, 0}, 2);
+
+        assertFalse(index.nearest(5, 3, 2.5).isPresent(), "The segment is too far away");
+        assertTrue(index.nearest(5, 3, 3.5).isPresent(), "The segment is close enough");
+    }
+
+    @Test
+    public void replacedSegmentMoves() {
+        SegmentIndex index = new SegmentIndex(1);
+        index.put(0, new double[] {0, 10}, new double[] {0, 0}, 2);
+        index.put(0, new double[] {0, 10}, new double[] {-8, -8}, 2);
+
+        assertFalse(index.nearest(5, 0, 1).isPresent(), "The old points should be gone");
+        assertEquals(0, index.nearest(5, -8, 1).orElseThrow().getSegment(), "The new points should be found");
+    }
+
+    @Test
+    public void removedSegmentIsGone() {
+        SegmentIndex index = new SegmentIndex(1);
+        index.put(3, new double[] {0, 1, 2}, new double[] {0, 1, 0}, 3);
+        index.put(4, new double[] {5}, new double[] {5}, 1);
+
+        index.remove(3);
+
+        assertFalse(index.contains(3), "The segment should be removed");
+        assertFalse(index.nearest(1, 1, 1).isPresent(), "The segment should not be found");
+        assertEquals(4, index.nearest(5.5, 5, 1).orElseThrow().getSegment(), "A single point should be found");
+    }
+
+    @Test
+    public void matchesLinearSearch() {
+        Random random = new Random(7);
+        SegmentIndex index = new SegmentIndex(0.5);
+        double[][] xs = new double[20][];
+        double[][] ys = new double[20][];
+        for (int segment = 0; segment < 20; segment++) {
+            int size = 2 + random.nextInt(30);
+            xs[segment] = new double[size];
+            ys[segment] = new double[size];
+            double x = random.nextDouble() * 50;
+            double y = random.nextDouble() * -27;
+            for (int i = 0; i < size; i++) {
+                x += random.nextGaussian();
+                y += random.nextGaussian();
+                xs[segment][i] = x;
+                ys[segment][i] = y;
+            }
+            index.put(segment, xs[segment], ys[segment], size);
+        }
+
+        for (int query = 0; query < 1000; query++) {
+            double x = random.nextDouble() * 60 - 5;
+            double y = random.nextDouble() * -37 + 5;
+            double maxDistance = random.nextDouble() * 4;
+            Optional<SegmentIndex.Hit> hit = index.nearest(x, y, maxDistance);
+
+            double expected = Double.POSITIVE_INFINITY;
+            for (int segment = 0; segment < 20; segment++) {
+                for (int i = 1; i < xs[segment].length; i++) {
+                    expected = Math.min(expected, distance(x, y, xs[segment][i - 1], ys[segment][i - 1],
+                            xs[segment][i], ys[segment][i]));
+                }
+            }
+            if (expected <= maxDistance) {
+                assertEquals(expected, hit.orElseThrow().getDistance(), 1e-9, "Wrong distance for query " + query);
+            } else {
+                assertFalse(hit.isPresent(), "Query " + query + " should not find anything");
+            }
+        }
+    }
+
+    @Test
+    public void hugeEdgesAreFoundWithoutWalkingTheirCells() {
+        SegmentIndex index = new SegmentIndex(0.01);
+        // Billions of cells long, and too far out for cells to be numbered
+        index.put(0, new double[] {0, 1e12}, new double[] {0, 1e12}, 2);
+        index.put(1, new double[] {1e150, 1e150}, new double[] {-1e150, 1e150}, 2);
+        index.put(2, new double[] {5, 6}, new double[] {-5, -5}, 2);
+
+        assertEquals(0, index.nearest(3, 3.5, 1).orElseThrow().getSegment(), "The long edge should be found");
+        assertEquals(1, index.nearest(1e150, 0, 1).orElseThrow().getSegment(), "The far edge should be found");
+        assertEquals(2, index.nearest(5.5, -5, 1).orElseThrow().getSegment(), "Other edges should still be found");
+        assertFalse(index.nearest(-1e200, 1e200, 1).isPresent(), "Far queries should not find anything");
+
+        index.remove(0);
+        assertFalse(index.nearest(3, 3.5, 1).isPresent(), "The removed long edge should be gone");
+        index.clear();
+        assertFalse(index.nearest(1e150, 0, 1).isPresent(), "Cleared edges should be gone");
+    }
+
+    @Test
+    public void distanceMustBeFinite() {
+        SegmentIndex index = new SegmentIndex(1);
+        assertThrows(IllegalArgumentException.class, () -> index.nearest(0, 0, Double.POSITIVE_INFINITY));
+        assertThrows(IllegalArgumentException.class, () -> index.nearest(0, 0, -1));
+    }
+
+    private static double distance(double x, double y, double startX, double startY, double endX, double endY) {
+        double dx = endX - startX;
+        double dy = endY - startY;
+        double lengthSquared = dx * dx + dy * dy;
+        double t = lengthSquared == 0 ? 0 : ((x - startX) * dx + (y - startY) * dy) / lengthSquared;
+        t = Math.max(0, Math.min(1, t));
+        return Math.hypot(x - startX - t * dx, y - startY - t * dy);
+    }
+}
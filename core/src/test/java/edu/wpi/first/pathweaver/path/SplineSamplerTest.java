@@ -0,0 +1,97 @@
+package edu.wpi.first.pathweaver.path;
+
+import edu.wpi.first.math.geometry.Translation2d;
+import edu.wpi.first.math.spline.QuinticHermiteSpline;
+import edu.wpi.first.math.spline.Spline;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SplineSamplerTest {
+    @Test
+    public void straightLineTakesFewPoints() {
+        Spline line = new QuinticHermiteSpline(new double[] {0, 10, 0}, new double[] {10, 10, 0},
+                new double[] {0, 0, 0}, new double[] {0, 0, 0});
+
+        List<Translation2d> points = sample(line, 0.01);
+
+        assertEquals(5, points.size(), "A straight line should only be split the minimum number of times");
+        assertEquals(0, points.get(0).getX(), 1e-9, "The first point should be the start");
+        assertEquals(10, points.get(points.size() - 1).getX(), 1e-9, "The last point should be the end");
+    }
+
+    @Test
+    public void curveStaysWithinTolerance() {
+        Spline turn = turn();
+        double tolerance = 0.01;
+
+        List<Translation2d> points = sample(turn, tolerance);
+
+        for (int i = 0; i <= 1000; i++) {
+            Translation2d point = turn.getPoint(i / 1000.0).orElseThrow().poseMeters.getTranslation();
+            // Only the middle of each interval is checked, so allow some slack between it and the ends
+            assertTrue(distanceToPolyline(point, points) <= 2 * tolerance,
+                    "Sample " + i + " is too far from the polyline");
+        }
+    }
+
+    @Test
+    public void tighterToleranceTakesMorePoints() {
+        Spline turn = turn();
+
+        int coarse = SplineSampler.sample(turn, 0.1, (x, y) -> { });
+        int fine = SplineSampler.sample(turn, 0.001, (x, y) -> { });
+
+        assertTrue(fine > coarse, "A tighter tolerance should take more points, was " + coarse + " and " + fine);
+        assertTrue(coarse < 41, "A coarse tolerance should take fewer points than fixed sampling, was " + coarse);
+    }
+
+    @Test
+    public void reversedSegmentRunsFromEnd() {
+        ControlPoint start = new ControlPoint(0, 0, 5, 0, true);
+        ControlPoint end = new ControlPoint(5, 5, 0, 5, true);
+
+        List<Translation2d> points = sample(SplineSampler.segment(start, end), 0.01);
+
+        assertEquals(5, points.get(0).getX(), 1e-9, "A reversed segment should start at its end");
+        assertEquals(0, points.get(points.size() - 1).getX(), 1e-9, "A reversed segment should end at its start");
+    }
+
+    @Test
+    public void toleranceMustBePositive() {
+        assertThrows(IllegalArgumentException.class, () -> SplineSampler.sample(turn(), 0, (x, y) -> { }));
+    }
+
+    private static Spline turn() {
+        return new QuinticHermiteSpline(new double[] {0, 5, 0}, new double[] {5, 0, 0},
+                new double[] {0, 0, 0}, new double[] {5, 5, 0});
+    }
+
+    private static List<Translation2d> sample(Spline spline, double tolerance) {
+        List<Translation2d> points = new ArrayList<>();
+        int count = SplineSampler.sample(spline, tolerance, (x, y) -> points.add(new Translation2d(x, y)));
+        assertEquals(points.size(), count, "Wrong point count");
+        return points;
+    }
+
+    private static double distanceToPolyline(Translation2d point, List<Translation2d> polyline) {
+        double min = Double.POSITIVE_INFINITY;
+        for (int i = 1; i < polyline.size(); i++) {
+            Translation2d a = polyline.get(i - 1);
+            Translation2d b = polyline.get(i);
+            double dx = b.getX() - a.getX();
+            double dy = b.getY() - a.getY();
+            double lengthSquared = dx * dx + dy * dy;
+            double t = lengthSquared == 0 ? 0
+                    : ((point.getX() - a.getX()) * dx + (point.getY() - a.getY()) * dy) / lengthSquared;
+            t = Math.max(0, Math.min(1, t));
+            min = Math.min(min, Math.hypot(point.getX() - a.getX() - t * dx, point.getY() - a.getY() - t * dy));
+        }
+        return min;
+    }
+}
@@ -0,0 +1,217 @@
+package edu.wpi.first.pathweaver.path;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TangentOptimizerTest {
+    @Test
+    public void batchMatchesSingleWaypoints() {
+        Random random = new Random(42);
+        int count = 50;
+        double[] x = new double[count];
+        double[] y = new double[count];
+        for (int i = 0; i < count; i++) {
+            x[i] = random.nextDouble() * 50;
+            y[i] = random.nextDouble() * -27;
+        }
+        double[] tangentX = new double[count];
+        double[] tangentY = new double[count];
+
+        TangentOptimizer.optimalTangents(x, y, count, tangentX, tangentY);
+
+        double[] tangent = new double[2];
+        for (int i = 1; i < count - 1; i++) {
+            TangentOptimizer.optimalTangent(x[i - 1], y[i - 1], x[i], y[i], x[i + 1], y[i + 1], tangent);
+            assertEquals(tangent[0], tangentX[i], "Wrong x tangent at " + i);
+            assertEquals(tangent[1], tangentY[i], "Wrong y tangent at " + i);
+        }
+        assertEquals(0, tangentX[0], "The first tangent should not be written");
+        assertEquals(0, tangentX[count - 1], "The last tangent should not be written");
+    }
+
+    @Test
+    public void randomWaypointsMatchPoint2DVersion() {
+        Random random = new Random(20);
+        for (int i = 0; i < 100_000; i++) {
+            assertMatchesPoint2DVersion(random.nextDouble() * 50, random.nextDouble() * -27,
+                    random.nextDouble() * 50, random.nextDouble() * -27,
+                    random.nextDouble() * 50, random.nextDouble() * -27);
+        }
+    }
+
+    @Test
+    public void degenerateWaypointsMatchPoint2DVersion() {
+        Random random = new Random(21);
+        for (int i = 0; i < 10_000; i++) {
+            double x = random.nextDouble() * 50;
+            double y = random.nextDouble() * -27;
+            double dx = random.nextDouble() * 10 - 5;
+            double dy = random.nextDouble() * 10 - 5;
+            double along = random.nextDouble() * 3 - 1;
+            // Collinear, with the waypoint between its neighbours or past either of them
+            assertMatchesPoint2DVersion(x, y, x + along * dx, y + along * dy, x + dx, y + dy);
+            // Coincident neighbours
+            assertMatchesPoint2DVersion(x, y, x + dx, y + dy, x, y);
+            // The waypoint on top of one of its neighbours
+            assertMatchesPoint2DVersion(x, y, x, y, x + dx, y + dy);
+            assertMatchesPoint2DVersion(x, y, x + dx, y + dy, x + dx, y + dy);
+        }
+        assertMatchesPoint2DVersion(1, 1, 1, 1, 1, 1);
+        assertMatchesPoint2DVersion(0, 0, 1e-12, 1e-12, 2e-12, 0);
+        assertMatchesPoint2DVersion(0, 0, 1e12, -1e12, 2e12, 0);
+    }
+
+    @Test
+    public void batchMatchesPoint2DVersion() {
+        // Two waypoints on top of each other, and three in a line, in the middle of a path
+        double[] x = {0, 4, 4, 8, 10, 12, 15};
+        double[] y = {0, -2, -2, -5, -6, -7, -3};
+        double[] tangentX = new double[x.length];
+        double[] tangentY = new double[x.length];
+
+        TangentOptimizer.optimalTangents(x, y, x.length, tangentX, tangentY);
+
+        for (int i = 1; i < x.length - 1; i++) {
+            Point2D expected = rawThetaOptimization(new Point2D(x[i - 1], y[i - 1]), new Point2D(x[i], y[i]),
+                    new Point2D(x[i + 1], y[i + 1]));
+            assertEquals(expected.getX(), tangentX[i], "Wrong x tangent at " + i);
+            assertEquals(expected.getY(), tangentY[i], "Wrong y tangent at " + i);
+        }
+    }
+
+    @Test
+    public void symmetricWaypointsHaveFlatTangent() {
+        double[] tangent = new double[2];
+
+        TangentOptimizer.optimalTangent(0, 0, 5, 5, 10, 0, tangent);
+
+        assertTrue(tangent[0] > 0, "The tangent should point towards the next waypoint, was " + tangent[0]);
+        assertEquals(0, tangent[1], 1e-9, "The tangent of the peak should be flat");
+    }
+
+    @Test
+    public void collinearWaypointsFollowLine() {
+        double[] tangent = new double[2];
+
+        TangentOptimizer.optimalTangent(0, 0, 3, 3, 10, 10, tangent);
+
+        assertTrue(Double.isFinite(tangent[0]) && Double.isFinite(tangent[1]), "The tangent should be finite");
+        assertEquals(tangent[0], tangent[1], 1e-9, "The tangent should follow the line");
+    }
+
+    @Test
+    public void coincidentNeighborsGiveNaN() {
+        double[] tangent = new double[2];
+
+        TangentOptimizer.optimalTangent(1, 1, 5, 5, 1, 1, tangent);
+
+        assertTrue(Double.isNaN(tangent[0]) && Double.isNaN(tangent[1]), "There is no optimal tangent");
+    }
+
+    /**
+     * Checks that both versions give exactly the same tangent. assertEquals compares the bits of doubles, so this also
+     * checks that both give NaN in the same cases.
+     */
+    private static void assertMatchesPoint2DVersion(double x1, double y1, double x2, double y2, double x3, double y3) {
+        Point2D expected = rawThetaOptimization(new Point2D(x1, y1), new Point2D(x2, y2), new Point2D(x3, y3));
+        double[] tangent = new double[2];
+
+        TangentOptimizer.optimalTangent(x1, y1, x2, y2, x3, y3, tangent);
+
+        String points = String.format("(%s, %s) (%s, %s) (%s, %s)", x1, y1, x2, y2, x3, y3);
+        assertEquals(expected.getX(), tangent[0], "Wrong x tangent for " + points);
+        assertEquals(expected.getY(), tangent[1], "Wrong y tangent for " + points);
+    }
+
+    /**
+     * A verbatim copy of PathUtil.rawThetaOptimization before it was moved onto plain doubles, kept to check that
+     * TangentOptimizer gives the same tangents.
+     */
+    private static Point2D rawThetaOptimization(Point2D p1, Point2D p2, Point2D p3) {
+        Point2D p1Scaled = new Point2D(0, 0);
+        Point2D p2Scaled = p2.subtract(p1).multiply(1 / p3.distance(p1));
+        Point2D p3Shifted = p3.subtract(p1);
+        Point2D p3Scaled = p3Shifted.multiply(1 / p3.distance(p1)); // scale
+
+        //refactor later
+        // Point2D q = new Point2D(0, 0); // for reference
+        Point2D r = new Point2D(p2Scaled.getX() * p3Scaled.getX() + p2Scaled.getY() * p3Scaled.getY(),
+                -p2Scaled.getX() * p3Scaled.getY() + p2Scaled.getY() * p3Scaled.getX());
+        // Point2D s = new Point2D(1, 0); // for reference
+
+        double beta = 1 - 2 * r.getX();
+        double gamma = Math.pow(4 * (r.getX() - Math.pow(r.distance(p1Scaled), 2)) - 3, 3) / 27;
+        double lambda = Math.pow(-gamma, 1.0 / 6.0);
+
+        double sqrtGamma = Math.sqrt(-gamma - Math.pow(beta, 2));
+        double phi1 = Math.atan2(sqrtGamma, beta) / 3;
+        double ur = lambda * Math.cos(phi1);
+        double ui = lambda * Math.sin(phi1);
+        double phi2 = Math.atan2(-sqrtGamma, beta) / 3;
+
+        double zr = lambda * Math.cos(phi2);
+        double zi = lambda * Math.sin(phi2);
+
+        double t1 = 1.0 / 2 + ur + zr / 2;
+        double t2 = 1.0 / 2 - (1.0 / 4) * (ur + zr + Math.sqrt(3) * (ui - zi));
+        double t3 = 1.0 / 2 - (1.0 / 4) * (ur + zr - Math.sqrt(3) * (ui - zi));
+
+        double t;
+        if (t1 > 0 && t1 < 1) {
+            t = t1;
+        } else if (t2 > 0 && t2 < 1) {
+            t = t2;
+        } else {
+            t = t3;
+        }
+
+        Point2D a1 = p2.subtract(p1).subtract(p3Shifted.multiply(t)).multiply(1 / (t * t - t));
+        Point2D a2 = p3Shifted.subtract(a1);
+
+        return a1.multiply(2 * t).add(a2).multiply(1. / 3);
+    }
+
+    /**
+     * The arithmetic of the javafx.geometry.Point2D methods the old version used, since this project cannot depend
+     * on JavaFX.
+     */
+    private static final class Point2D {
+        private final double x;
+        private final double y;
+
+        private Point2D(double x, double y) {
+            this.x = x;
+            this.y = y;
+        }
+
+        private double getX() {
+            return x;
+        }
+
+        private double getY() {
+            return y;
+        }
+
+        private double distance(Point2D point) {
+            double a = getX() - point.getX();
+            double b = getY() - point.getY();
+            return Math.sqrt(a * a + b * b);
+        }
+
+        private Point2D add(Point2D point) {
+            return new Point2D(getX() + point.getX(), getY() + point.getY());
+        }
+
+        private Point2D subtract(Point2D point) {
+            return new Point2D(getX() - point.getX(), getY() - point.getY());
+        }
+
+        private Point2D multiply(double factor) {
+            return new Point2D(getX() * factor, getY() * factor);
+        }
+    }
+}
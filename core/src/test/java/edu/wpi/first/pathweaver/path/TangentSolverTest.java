@@ -0,0 +1,114 @@
+package edu.wpi.first.pathweaver.path;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TangentSolverTest {
+    private static final double[] X = {0, 3, 7, 8, 12, 15};
+    private static final double[] Y = {0, 2, -1, -4, -3, 0};
+
+    @ParameterizedTest
+    @EnumSource(TangentSolver.Objective.class)
+    public void evenlySpacedLineKeepsSpacing(TangentSolver.Objective objective) {
+        double[] x = {0, 2, 4, 6, 8};
+        double[] y = {0, 1, 2, 3, 4};
+        double[] tangentX = new double[5];
+        double[] tangentY = new double[5];
+
+        new TangentSolver(objective).solve(x, y, new boolean[5], 5, tangentX, tangentY);
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals(2, tangentX[i], 1e-9, "Wrong x tangent at " + i);
+            assertEquals(1, tangentY[i], 1e-9, "Wrong y tangent at " + i);
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(TangentSolver.Objective.class)
+    public void lockedTangentsAreKept(TangentSolver.Objective objective) {
+        boolean[] locked = {true, false, false, true, false, true};
+        double[] tangentX = {5, 0, 0, -2, 0, 0};
+        double[] tangentY = {1, 0, 0, 7, 0, 6};
+
+        new TangentSolver(objective).solve(X, Y, locked, X.length, tangentX, tangentY);
+
+        assertEquals(5, tangentX[0], "A locked tangent should not change");
+        assertEquals(1, tangentY[0], "A locked tangent should not change");
+        assertEquals(-2, tangentX[3], "A locked tangent should not change");
+        assertEquals(7, tangentY[3], "A locked tangent should not change");
+        assertEquals(0, tangentX[5], "A locked tangent should not change");
+        assertEquals(6, tangentY[5], "A locked tangent should not change");
+    }
+
+    @ParameterizedTest
+    @EnumSource(TangentSolver.Objective.class)
+    public void solutionMinimizesEnergy(TangentSolver.Objective objective) {
+        boolean[] locked = {true, false, false, false, false, true};
+        double[] tangentX = {3, 0, 0, 0, 0, 3};
+        double[] tangentY = {0, 0, 0, 0, 0, 3};
+        new TangentSolver(objective).solve(X, Y, locked, X.length, tangentX, tangentY);
+        int derivative = objective == TangentSolver.Objective.CURVATURE ? 2 : 3;
+        double minimum = energy(X, tangentX, derivative) + energy(Y, tangentY, derivative);
+
+        for (int i = 1; i < X.length - 1; i++) {
+            for (double delta : new double[] {-0.01, 0.01}) {
+                tangentX[i] += delta;
+                double energy = energy(X, tangentX, derivative) + energy(Y, tangentY, derivative);
+                tangentX[i] -= delta;
+                assertTrue(energy > minimum, "Moving tangent " + i + " by " + delta + " should not lower the energy");
+            }
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(TangentSolver.Objective.class)
+    public void coincidentWaypointsAreFinite(TangentSolver.Objective objective) {
+        double[] x = {0, 4, 4, 0};
+        double[] y = {0, 4, 4, 0};
+        double[] tangentX = new double[4];
+        double[] tangentY = new double[4];
+
+        new TangentSolver(objective).solve(x, y, new boolean[4], 4, tangentX, tangentY);
+
+        for (int i = 0; i < 4; i++) {
+            assertTrue(Double.isFinite(tangentX[i]) && Double.isFinite(tangentY[i]), "Tangent " + i + " is not finite");
+        }
+    }
+
+    /**
+     * Numerically integrates the squared derivative of one coordinate of a path of quintic hermite segments with no
+     * second derivative at the waypoints.
+     */
+    private static double energy(double[] position, double[] tangent, int derivative) {
+        int steps = 200;
+        double total = 0;
+        for (int segment = 1; segment < position.length; segment++) {
+            for (int step = 0; step <= steps; step++) {
+                double t = (double) step / steps;
+                double value = position[segment - 1] * basis(new double[] {1, 0, 0, -10, 15, -6}, t, derivative)
+                        + tangent[segment - 1] * basis(new double[] {0, 1, 0, -6, 8, -3}, t, derivative)
+                        + tangent[segment] * basis(new double[] {0, 0, 0, -4, 7, -3}, t, derivative)
+                        + position[segment] * basis(new double[] {0, 0, 0, 10, -15, 6}, t, derivative);
+                // Simpson's rule
+                double weight = step == 0 || step == steps ? 1 : step % 2 == 1 ? 4 : 2;
+                total += weight * value * value / (3 * steps);
+            }
+        }
+        return total;
+    }
+
+    private static double basis(double[] coefficients, double t, int derivative) {
+        double value = 0;
+        for (int power = derivative; power < coefficients.length; power++) {
+            double factor = coefficients[power];
+            for (int i = 0; i < derivative; i++) {
+                factor *= power - i;
+            }
+            value += factor * Math.pow(t, power - derivative);
+        }
+        return value;
+    }
+}
@@ -0,0 +1,106 @@
+package edu.wpi.first.pathweaver.runtime;
+
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.math.geometry.Translation2d;
+import edu.wpi.first.math.jni.TrajectoryUtilJNI;
+import edu.wpi.first.math.trajectory.Trajectory;
+import edu.wpi.first.math.trajectory.TrajectoryConfig;
+import edu.wpi.first.math.trajectory.TrajectoryGenerator;
+import edu.wpi.first.math.trajectory.TrajectoryUtil;
+import edu.wpi.first.pathweaver.export.TrajectoryBundle;
+import edu.wpi.first.pathweaver.export.TrajectoryJsonWriter;
+import edu.wpi.first.util.CombinedRuntimeLoader;
+import edu.wpi.first.util.WPIUtilJNI;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the runtime reader with WPILib's JSON reader, both for loading a trajectory at robot init and for
+ * sampling it every loop. Run with {@code ./gradlew :runtime:jmh}; the gc profiler reports allocation per call.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TrajectorySampleBenchmark {
+    private static final String NAME = "Benchmark";
+    private static final double LOOP_PERIOD = 0.02;
+
+    private Path json;
+    private Path bundle;
+    private Trajectory wpilibTrajectory;
+    private BundledTrajectory bundledTrajectory;
+    private final TrajectorySample sample = new TrajectorySample();
+    private double time;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        WPIUtilJNI.Helper.setExtractOnStaticLoad(false);
+        TrajectoryUtilJNI.Helper.setExtractOnStaticLoad(false);
+        CombinedRuntimeLoader.loadLibraries(TrajectorySampleBenchmark.class, "wpiutiljni", "wpimathjni");
+
+        Trajectory trajectory = TrajectoryGenerator.generateTrajectory(
+                new Pose2d(1, 1, new Rotation2d()),
+                List.of(new Translation2d(4, 3), new Translation2d(8, 1), new Translation2d(12, 4)),
+                new Pose2d(15, 2, new Rotation2d(Math.PI / 2)),
+                new TrajectoryConfig(3, 2));
+
+        Path directory = Files.createTempDirectory("pathweaver-benchmark");
+        json = directory.resolve(NAME + ".wpilib.json");
+        TrajectoryJsonWriter.write(trajectory, 0, json);
+        Path records = directory.resolve(NAME + ".states");
+        TrajectoryBundle.writeRecords(trajectory, 0, records);
+        bundle = directory.resolve(TrajectoryBundle.FILE_NAME);
+        TrajectoryBundle.write(bundle, List.of(NAME), List.of(records));
+
+        wpilibTrajectory = TrajectoryUtil.fromPathweaverJson(json);
+        bundledTrajectory = TrajectoryBundleReader.open(bundle).getTrajectory(NAME);
+    }
+
+    private double nextTime() {
+        time += LOOP_PERIOD;
+        if (time > bundledTrajectory.getDuration()) {
+            time = 0;
+        }
+        return time;
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public Trajectory loadWpilibJson() throws IOException {
+        return TrajectoryUtil.fromPathweaverJson(json);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public BundledTrajectory loadBundle() throws IOException {
+        return TrajectoryBundleReader.open(bundle).getTrajectory(NAME);
+    }
+
+    @Benchmark
+    public Trajectory.State sampleWpilib() {
+        return wpilibTrajectory.sample(nextTime());
+    }
+
+    @Benchmark
+    public TrajectorySample sampleBundle() {
+        return bundledTrajectory.sample(nextTime(), sample);
+    }
+
+    @Benchmark
+    public TrajectorySample sampleBundleByDistance() {
+        return bundledTrajectory.sampleByDistance(nextTime() * 2, sample);
+    }
+}
@@ -0,0 +1,29 @@
+package edu.wpi.first.pathweaver.runtime;
+
+/**
+ * The layout of the "trajectories.bin" bundle written by PathWeaver.
+ *
+ * <p>All values are little-endian and every double is 8-byte aligned:
+ * <pre>
+ * header   magic "PWTB", u32 version, u32 trajectory count, u32 reserved
+ * index    one 32-byte entry per trajectory, sorted by name:
+ *          u32 name offset, u32 name length (UTF-8 bytes), u64 first state offset,
+ *          u32 state count, u32 reserved, f64 duration in seconds
+ * names    the UTF-8 names, padded to a multiple of 8 bytes
+ * states   56-byte records of f64 time, velocity, acceleration, x, y, heading, curvature
+ * </pre>
+ * Offsets are from the start of the file.
+ */
+public final class BundleFormat {
+    public static final String FILE_NAME = "trajectories.bin";
+    public static final int MAGIC = 0x42545750; // "PWTB" in little-endian byte order
+    public static final int VERSION = 1;
+    public static final int HEADER_BYTES = 16;
+    public static final int INDEX_ENTRY_BYTES = 32;
+    public static final int RECORD_DOUBLES = 7;
+    public static final int RECORD_BYTES = RECORD_DOUBLES * Double.BYTES;
+
+    private BundleFormat() {
+        throw new UnsupportedOperationException("This is a utility class!");
+    }
+}
@@ -0,0 +1,272 @@
+package edu.wpi.first.pathweaver.runtime;
+
+/**
+ * A trajectory held in primitive arrays, one per state property.
+ *
+ * <p>{@link #sample(double, TrajectorySample)} uses the same constant-acceleration interpolation between states as
+ * WPILib's {@code Trajectory.sample}, and moves along the same arc between poses as {@code Pose2d.interpolate}, so
+ * robot code can switch readers without retuning and decimated trajectories stay within their tolerance. Sampling
+ * writes into a caller supplied {@link TrajectorySample} and never allocates, so it is safe to call from a control
+ * loop.
+ *
+ * <p>If the trajectory was exported with a resample period, its states are evenly spaced in time and
+ * {@link #sample(double, TrajectorySample)} finds them by indexing instead of searching.
+ */
+public final class BundledTrajectory {
+    private final double[] time;
+    private final double[] velocity;
+    private final double[] acceleration;
+    private final double[] x;
+    private final double[] y;
+    private final double[] heading;
+    private final double[] curvature;
+    /** The straight-line distance travelled from the first state to each state. */
+    private final double[] distance;
+    /** The time between states if they are evenly spaced, otherwise 0. */
+    private final double period;
+
+    BundledTrajectory(double[] time, double[] velocity, double[] acceleration, double[] x, double[] y,
+                      double[] heading, double[] curvature) {
+        if (time.length == 0) {
+            throw new IllegalArgumentException("A trajectory needs at least one state");
+        }
+        this.time = time;
+        this.velocity = velocity;
+        this.acceleration = acceleration;
+        this.x = x;
+        this.y = y;
+        this.heading = heading;
+        this.curvature = curvature;
+        this.distance = new double[time.length];
+        for (int i = 1; i < time.length; i++) {
+            distance[i] = distance[i - 1] + Math.hypot(x[i] - x[i - 1], y[i] - y[i - 1]);
+        }
+        this.period = uniformPeriod(time);
+    }
+
+    /**
+     * Finds the time between states of a resampled trajectory, where state {@code i} is at {@code i * period} and
+     * only the last state may be closer to the one before it.
+     */
+    private static double uniformPeriod(double[] time) {
+        if (time.length < 3 || time[0] != 0) {
+            return 0;
+        }
+        double period = time[1];
+        double tolerance = period * 1E-6;
+        for (int i = 2; i < time.length - 1; i++) {
+            if (Math.abs(time[i] - i * period) > tolerance) {
+                return 0;
+            }
+        }
+        double last = time[time.length - 1] - time[time.length - 2];
+        return last > 0 && last <= period + tolerance ? period : 0;
+    }
+
+    /**
+     * Whether the states are evenly spaced in time, so sampling by time does not have to search.
+     *
+     * @return true if the trajectory was resampled when it was exported
+     */
+    public boolean isUniform() {
+        return period > 0;
+    }
+
+    public int getStateCount() {
+        return time.length;
+    }
+
+    /**
+     * The time it takes to drive the trajectory.
+     *
+     * @return the duration, in seconds
+     */
+    public double getDuration() {
+        return time[time.length - 1];
+    }
+
+    /**
+     * The distance along the trajectory, measured as straight lines between states.
+     *
+     * @return the length of the trajectory
+     */
+    public double getLength() {
+        return distance[distance.length - 1];
+    }
+
+    /**
+     * Copies a state of the trajectory.
+     *
+     * @param index the index of the state
+     * @param out   the sample to write to
+     * @return {@code out}
+     */
+    public TrajectorySample getState(int index, TrajectorySample out) {
+        out.set(time[index], velocity[index], acceleration[index], x[index], y[index], heading[index],
+                curvature[index]);
+        return out;
+    }
+
+    /**
+     * Samples the trajectory at a time. Times before the start or after the end return the first or last state.
+     *
+     * @param t   the time since the start of the trajectory, in seconds
+     * @param out the sample to write to
+     * @return {@code out}
+     */
+    public TrajectorySample sample(double t, TrajectorySample out) {
+        int last = time.length - 1;
+        if (t <= time[0]) {
+            return getState(0, out);
+        }
+        if (t >= time[last]) {
+            return getState(last, out);
+        }
+        int next = period > 0 ? index(t) : search(time, t);
+        int previous = next - 1;
+        double span = time[next] - time[previous];
+        if (Math.abs(span) < 1E-9) {
+            return getState(next, out);
+        }
+
+        // Constant acceleration from the previous state, as in Trajectory.State.interpolate
+        double deltaT = t - time[previous];
+        double v0 = velocity[previous];
+        double a0 = acceleration[previous];
+        boolean reversing = v0 < 0 || Math.abs(v0) < 1E-9 && a0 < 0;
+        double travelled = (v0 * deltaT + 0.5 * a0 * deltaT * deltaT) * (reversing ? -1.0 : 1.0);
+        double segment = distance[next] - distance[previous];
+        // Pose2d.interpolate and MathUtil.interpolate both stop at the ends of the segment
+        double fraction = segment == 0 ? 0 : Math.max(0, Math.min(1, travelled / segment));
+
+        return interpolate(previous, next, fraction, t, v0 + a0 * deltaT, a0, out);
+    }
+
+    /**
+     * Writes a sample between two states at a fraction of the distance between them. Like {@code Pose2d.interpolate},
+     * the pose follows the twist from the previous pose to the next one, which is a circular arc, instead of the
+     * straight line between them.
+     */
+    private TrajectorySample interpolate(int previous, int next, double fraction, double t, double velocity,
+                                         double acceleration, TrajectorySample out) {
+        double startHeading = heading[previous];
+        double cos = Math.cos(startHeading);
+        double sin = Math.sin(startHeading);
+        double chordX = x[next] - x[previous];
+        double chordY = y[next] - y[previous];
+        // Pose2d.log: the next pose relative to the previous one, then the twist that reaches it
+        double forward = chordX * cos + chordY * sin;
+        double left = chordY * cos - chordX * sin;
+        double turn = wrapAngle(heading[next] - startHeading);
+        double halfTurn = turn / 2;
+        double cosMinusOne = Math.cos(turn) - 1;
+        double halfTurnByTan = Math.abs(cosMinusOne) < 1E-9
+                ? 1 - turn * turn / 12
+                : -(halfTurn * Math.sin(turn)) / cosMinusOne;
+        double twistX = (forward * halfTurnByTan + left * halfTurn) * fraction;
+        double twistY = (left * halfTurnByTan - forward * halfTurn) * fraction;
+        double twistTurn = turn * fraction;
+        // Pose2d.exp of the scaled twist
+        double sinByTurn;
+        double oneMinusCosByTurn;
+        if (Math.abs(twistTurn) < 1E-9) {
+            sinByTurn = 1 - twistTurn * twistTurn / 6;
+            oneMinusCosByTurn = twistTurn / 2;
+        } else {
+            sinByTurn = Math.sin(twistTurn) / twistTurn;
+            oneMinusCosByTurn = (1 - Math.cos(twistTurn)) / twistTurn;
+        }
+        double localX = twistX * sinByTurn - twistY * oneMinusCosByTurn;
+        double localY = twistX * oneMinusCosByTurn + twistY * sinByTurn;
+
+        out.set(t, velocity, acceleration,
+                x[previous] + localX * cos - localY * sin,
+                y[previous] + localX * sin + localY * cos,
+                wrapAngle(startHeading + twistTurn),
+                lerp(curvature[previous], curvature[next], fraction));
+        return out;
+    }
+
+    /**
+     * Samples the trajectory at a distance along it, interpolating linearly between states. Distances before the
+     * start or after the end return the first or last state.
+     *
+     * @param s   the distance from the start of the trajectory, as in {@link #getLength()}
+     * @param out the sample to write to
+     * @return {@code out}
+     */
+    public TrajectorySample sampleByDistance(double s, TrajectorySample out) {
+        int last = distance.length - 1;
+        if (s <= 0) {
+            return getState(0, out);
+        }
+        if (s >= distance[last]) {
+            return getState(last, out);
+        }
+        int next = search(distance, s);
+        int previous = next - 1;
+        double segment = distance[next] - distance[previous];
+        double fraction = segment == 0 ? 0 : (s - distance[previous]) / segment;
+
+        out.set(lerp(time[previous], time[next], fraction),
+                lerp(velocity[previous], velocity[next], fraction),
+                lerp(acceleration[previous], acceleration[next], fraction),
+                lerp(x[previous], x[next], fraction),
+                lerp(y[previous], y[next], fraction),
+                lerpAngle(heading[previous], heading[next], fraction),
+                lerp(curvature[previous], curvature[next], fraction));
+        return out;
+    }
+
+    /**
+     * Finds the same index as {@link #search(double[], double)} for evenly spaced states.
+     */
+    private int index(double t) {
+        int last = time.length - 1;
+        int next = Math.min((int) (t / period) + 1, last);
+        // The stored times can be a rounding error away from the grid
+        if (next > 1 && time[next - 1] >= t) {
+            next--;
+        } else if (next < last && time[next] < t) {
+            next++;
+        }
+        return next;
+    }
+
+    /**
+     * Finds the first index from 1 whose value is not less than the key.
+     */
+    private static int search(double[] values, double key) {
+        int low = 1;
+        int high = values.length - 1;
+        while (low != high) {
+            int mid = (low + high) >>> 1;
+            if (values[mid] < key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static double lerp(double start, double end, double fraction) {
+        return start + (end - start) * fraction;
+    }
+
+    /**
+     * Interpolates along the shorter arc between two angles in [-pi, pi], returning an angle in [-pi, pi].
+     */
+    private static double lerpAngle(double start, double end, double fraction) {
+        return wrapAngle(start + wrapAngle(end - start) * fraction);
+    }
+
+    private static double wrapAngle(double angle) {
+        if (angle > Math.PI) {
+            return angle - 2 * Math.PI;
+        } else if (angle < -Math.PI) {
+            return angle + 2 * Math.PI;
+        }
+        return angle;
+    }
+}
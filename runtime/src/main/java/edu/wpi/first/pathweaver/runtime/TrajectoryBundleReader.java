@@ -0,0 +1,141 @@
+package edu.wpi.first.pathweaver.runtime;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Reads trajectories from a "trajectories.bin" bundle exported by PathWeaver.
+ *
+ * <p>The bundle is memory mapped, and only the index is read when it is opened. A trajectory is copied into
+ * primitive arrays the first time it is requested, which should happen during robot initialization; sampling it
+ * afterwards does not allocate.
+ *
+ * <pre>{@code
+ * TrajectoryBundleReader bundle = TrajectoryBundleReader.open(
+ *     Filesystem.getDeployDirectory().toPath().resolve("paths/trajectories.bin"));
+ * BundledTrajectory trajectory = bundle.getTrajectory("Left Start");
+ * TrajectorySample sample = new TrajectorySample();
+ * ...
+ * trajectory.sample(timer.get(), sample);
+ * }</pre>
+ */
+public final class TrajectoryBundleReader {
+    private final ByteBuffer buffer;
+    private final Map<String, Integer> entries;
+
+    private TrajectoryBundleReader(ByteBuffer buffer) throws IOException {
+        this.buffer = buffer;
+        if (buffer.capacity() < BundleFormat.HEADER_BYTES || buffer.getInt(0) != BundleFormat.MAGIC) {
+            throw new IOException("Not a PathWeaver trajectory bundle");
+        }
+        int version = buffer.getInt(4);
+        if (version != BundleFormat.VERSION) {
+            throw new IOException("Unsupported trajectory bundle version " + version);
+        }
+        int count = buffer.getInt(8);
+        Map<String, Integer> index = new LinkedHashMap<>();
+        for (int i = 0; i < count; i++) {
+            int entry = entryOffset(i);
+            byte[] name = new byte[buffer.getInt(entry + 4)];
+            buffer.duplicate().position(buffer.getInt(entry)).get(name);
+            index.put(new String(name, StandardCharsets.UTF_8), entry);
+        }
+        this.entries = Collections.unmodifiableMap(index);
+    }
+
+    /**
+     * Opens a bundle by memory mapping it.
+     *
+     * @param file the bundle file
+     * @return the reader
+     * @throws IOException if the file could not be mapped or is not a bundle
+     */
+    public static TrajectoryBundleReader open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            // The mapping stays valid after the channel is closed
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new TrajectoryBundleReader(mapped.order(ByteOrder.LITTLE_ENDIAN));
+        }
+    }
+
+    /**
+     * Reads a bundle that is already in memory.
+     *
+     * @param buffer the contents of a bundle file
+     * @return the reader
+     * @throws IOException if the buffer does not hold a bundle
+     */
+    public static TrajectoryBundleReader wrap(ByteBuffer buffer) throws IOException {
+        return new TrajectoryBundleReader(buffer.duplicate().order(ByteOrder.LITTLE_ENDIAN));
+    }
+
+    /**
+     * The names of the trajectories in the bundle, sorted.
+     *
+     * @return the trajectory names
+     */
+    public Set<String> getNames() {
+        return entries.keySet();
+    }
+
+    public boolean contains(String name) {
+        return entries.containsKey(name);
+    }
+
+    /**
+     * Reads the duration of a trajectory from the index, without loading it.
+     *
+     * @param name the name of the trajectory
+     * @return the duration, in seconds
+     * @throws IllegalArgumentException if the bundle has no trajectory with that name
+     */
+    public double getDuration(String name) {
+        return buffer.getDouble(entry(name) + 24);
+    }
+
+    /**
+     * Loads a trajectory into memory.
+     *
+     * @param name the name of the trajectory
+     * @return the trajectory
+     * @throws IllegalArgumentException if the bundle has no trajectory with that name
+     */
+    public BundledTrajectory getTrajectory(String name) {
+        int entry = entry(name);
+        long offset = buffer.getLong(entry + 8);
+        int count = buffer.getInt(entry + 16);
+
+        double[][] columns = new double[BundleFormat.RECORD_DOUBLES][count];
+        int position = Math.toIntExact(offset);
+        for (int i = 0; i < count; i++) {
+            for (double[] column : columns) {
+                column[i] = buffer.getDouble(position);
+                position += Double.BYTES;
+            }
+        }
+        return new BundledTrajectory(columns[0], columns[1], columns[2], columns[3], columns[4], columns[5],
+                columns[6]);
+    }
+
+    private int entry(String name) {
+        Integer entry = entries.get(name);
+        if (entry == null) {
+            throw new IllegalArgumentException("No trajectory named \"" + name + "\" in the bundle");
+        }
+        return entry;
+    }
+
+    private static int entryOffset(int index) {
+        return BundleFormat.HEADER_BYTES + index * BundleFormat.INDEX_ENTRY_BYTES;
+    }
+}
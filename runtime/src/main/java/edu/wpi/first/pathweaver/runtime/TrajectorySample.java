@@ -0,0 +1,70 @@
+package edu.wpi.first.pathweaver.runtime;
+
+/**
+ * A mutable trajectory state that {@link BundledTrajectory} samples into, so that sampling never allocates. Create
+ * one per control loop and reuse it on every call.
+ */
+public final class TrajectorySample {
+    private double time;
+    private double velocity;
+    private double acceleration;
+    private double x;
+    private double y;
+    private double heading;
+    private double curvature;
+
+    void set(double time, double velocity, double acceleration, double x, double y, double heading,
+             double curvature) {
+        this.time = time;
+        this.velocity = velocity;
+        this.acceleration = acceleration;
+        this.x = x;
+        this.y = y;
+        this.heading = heading;
+        this.curvature = curvature;
+    }
+
+    /**
+     * The time since the start of the trajectory, in seconds.
+     *
+     * @return the time
+     */
+    public double getTime() {
+        return time;
+    }
+
+    public double getVelocity() {
+        return velocity;
+    }
+
+    public double getAcceleration() {
+        return acceleration;
+    }
+
+    public double getX() {
+        return x;
+    }
+
+    public double getY() {
+        return y;
+    }
+
+    /**
+     * The heading of the robot, in radians counterclockwise from the x axis.
+     *
+     * @return the heading
+     */
+    public double getHeading() {
+        return heading;
+    }
+
+    public double getCurvature() {
+        return curvature;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("TrajectorySample(t=%.3f, v=%.3f, a=%.3f, x=%.3f, y=%.3f, heading=%.3f, k=%.3f)",
+                time, velocity, acceleration, x, y, heading, curvature);
+    }
+}
@@ -0,0 +1,198 @@
+package edu.wpi.first.pathweaver;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import edu.wpi.first.pathweaver.build.BuildCache;
+import edu.wpi.first.pathweaver.build.BuildReport;
+import edu.wpi.first.pathweaver.build.BuildResult;
+import edu.wpi.first.pathweaver.build.FieldLookup;
+import edu.wpi.first.pathweaver.build.PathBuilder;
+import edu.wpi.first.pathweaver.export.ExportSettings;
+import edu.wpi.first.pathweaver.extensions.ExtensionManager;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Optional;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Builds every path of a project from the command line, without starting JavaFX.
+ *
+ * <pre>{@code
+ * java -jar PathWeaver.jar --build <projectDir> [--output <dir>]
+ * }</pre>
+ *
+ * <p>Project settings are read straight from "pathweaver.json" into {@link ProjectValues} and the field size is found
+ * by {@link FieldLookup}, both from the JavaFX-free core, so no FXML, images or waypoint nodes are loaded.
+ * Paths that are unchanged since the last build are skipped using the project's {@link BuildCache}.
+ */
+final class BuildCommand {
+  private static final Logger LOGGER = Logger.getLogger(BuildCommand.class.getName());
+  private static final String BUILD_FLAG = "--build";
+  private static final String OUTPUT_FLAG = "--output";
+  private static final String USAGE = "Usage: PathWeaver --build <projectDir> [--output <dir>]";
+
+  static final int EXIT_SUCCESS = 0;
+  static final int EXIT_FAILURE = 1;
+  static final int EXIT_USAGE = 2;
+
+  private BuildCommand() {
+    throw new UnsupportedOperationException("This is a utility class!");
+  }
+
+  /**
+   * Checks whether the command line requests a headless build.
+   *
+   * @param args the command line arguments
+   * @return true if PathWeaver should build paths instead of starting the UI
+   */
+  static boolean isBuildCommand(String[] args) {
+    return args.length > 0 && BUILD_FLAG.equals(args[0]);
+  }
+
+  /**
+   * Parses the command line of a headless build.
+   *
+   * @param args the command line arguments, starting with "--build"
+   * @return the parsed arguments, or empty if they do not match the usage
+   */
+  static Optional<Arguments> parse(String[] args) {
+    if (!isBuildCommand(args) || args.length != 2 && !(args.length == 4 && OUTPUT_FLAG.equals(args[2]))) {
+      return Optional.empty();
+    }
+    Path project = Paths.get(args[1]).toAbsolutePath().normalize();
+    Path output = args.length == 4 ? Paths.get(args[3]).toAbsolutePath() : null;
+    return Optional.of(new Arguments(project, output));
+  }
+
+  /**
+   * Builds the project given on the command line.
+   *
+   * @param args the command line arguments, starting with "--build"
+   * @return the process exit code
+   */
+  static int run(String[] args) {
+    long startup = ManagementFactory.getRuntimeMXBean().getUptime();
+    long start = System.nanoTime();
+
+    Optional<Arguments> arguments = parse(args);
+    if (arguments.isEmpty()) {
+      System.err.println(USAGE);
+      return EXIT_USAGE;
+    }
+    Path project = arguments.get().getProject();
+    Path preferences = project.resolve("pathweaver.json");
+    if (!Files.isRegularFile(preferences)) {
+      System.err.println("Not a PathWeaver project: " + project);
+      return EXIT_USAGE;
+    }
+
+    BuildReport report;
+    Path output;
+    try {
+      ProjectValues values = readValues(preferences);
+      Path extensions = ExtensionManager.getInstance().getDirectory();
+      ExportSettings settings = values.getExportSettings(
+          FieldLookup.findFieldLength(values.getGameName(), extensions));
+      output = arguments.get().getOutput()
+          .orElseGet(() -> values.getOutputDirectory(project.toString()).toPath());
+      Path pathDirectory = project.resolve("Paths");
+      List<String> pathNames = listPaths(pathDirectory);
+
+      report = new PathBuilder(settings, BuildCache.forProject(project))
+          .build(pathDirectory, pathNames, output)
+          .join();
+    } catch (IOException | JsonParseException | IllegalArgumentException e) {
+      LOGGER.log(Level.FINE, "Could not build " + project, e);
+      System.err.println("Could not build " + project + ": " + e.getMessage());
+      return EXIT_FAILURE;
+    }
+
+    List<BuildResult> results = report.getResults();
+    List<BuildResult> failures = report.getFailures();
+    for (BuildResult failure : failures) {
+      System.err.println("Could not export " + failure);
+    }
+    for (String error : report.getErrors()) {
+      System.err.println(error);
+    }
+    long cached = report.getCachedCount();
+    long total = (System.nanoTime() - start) / 1_000_000;
+    System.out.printf("Exported %d paths to %s (%d rebuilt, %d up to date, %d failed)%n", results.size(), output,
+        results.size() - failures.size() - cached, cached, failures.size());
+    for (BuildResult result : results) {
+      result.getDecimation().ifPresent(decimation -> System.out.println("Decimated " + result.getPathName() + ": "
+          + decimation));
+    }
+    BuildResult.maxResampleError(results)
+        .ifPresent(error -> System.out.printf("Largest resampling error: %.3g%n", error));
+    System.out.printf("JVM startup %d ms, build %d ms, total %d ms%n", startup, total, startup + total);
+    return report.isSuccess() ? EXIT_SUCCESS : EXIT_FAILURE;
+  }
+
+  private static ProjectValues readValues(Path preferences) throws IOException {
+    ProjectValues values;
+    try (Reader reader = Files.newBufferedReader(preferences)) {
+      values = new Gson().fromJson(reader, ProjectValues.class);
+    }
+    if (values == null) {
+      throw new JsonParseException("Empty project file " + preferences);
+    }
+    if (!values.fillDefaults(FieldLookup.defaultGameName())) {
+      LOGGER.warning("The project has no export unit and was exported in the project unit. "
+          + "Open it in PathWeaver and choose an Export Unit to silence this warning.");
+    }
+    return values;
+  }
+
+  private static List<String> listPaths(Path pathDirectory) throws IOException {
+    if (!Files.isDirectory(pathDirectory)) {
+      return List.of();
+    }
+    try (Stream<Path> files = Files.list(pathDirectory)) {
+      return files.map(file -> file.getFileName().toString())
+          .filter(name -> name.endsWith(".path"))
+          .sorted()
+          .collect(Collectors.toList());
+    }
+  }
+
+  /**
+   * The command line of a headless build.
+   */
+  static final class Arguments {
+    private final Path project;
+    private final Path output;
+
+    Arguments(Path project, Path output) {
+      this.project = project;
+      this.output = output;
+    }
+
+    /**
+     * The directory of the project to build.
+     *
+     * @return the absolute path of the project
+     */
+    Path getProject() {
+      return project;
+    }
+
+    /**
+     * The directory given with "--output", which replaces the project's output directory.
+     *
+     * @return the absolute path of the output directory, or empty to use the project's
+     */
+    Optional<Path> getOutput() {
+      return Optional.ofNullable(output);
+    }
+  }
+}
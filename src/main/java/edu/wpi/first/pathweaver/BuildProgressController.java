@@ -0,0 +1,102 @@
+package edu.wpi.first.pathweaver;
+
+import java.util.List;
+
+import edu.wpi.first.pathweaver.build.PathBuilder;
+import javafx.animation.Animation;
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
+import javafx.application.Platform;
+import javafx.beans.property.ReadOnlyBooleanProperty;
+import javafx.beans.property.ReadOnlyBooleanWrapper;
+import javafx.fxml.FXML;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.control.ListView;
+import javafx.scene.control.ProgressBar;
+import javafx.scene.layout.VBox;
+import javafx.util.Duration;
+
+/**
+ * Shows the progress of a running build: how many paths are done, the elapsed time and the status of every path,
+ * with a button to cancel the build.
+ */
+@SuppressWarnings("PMD.UnusedPrivateMethod")
+public class BuildProgressController {
+  @FXML
+  private VBox buildProgress;
+  @FXML
+  private ProgressBar progress;
+  @FXML
+  private Button cancel;
+  @FXML
+  private Label summary;
+  @FXML
+  private ListView<String> statuses;
+
+  private final ReadOnlyBooleanWrapper running = new ReadOnlyBooleanWrapper(false);
+  private final BuildStatuses buildStatuses = new BuildStatuses();
+  private final Timeline clock = new Timeline(new KeyFrame(Duration.millis(100), event -> updateSummary()));
+  private PathBuilder builder;
+  private long start;
+
+  @FXML
+  private void initialize() {
+    buildProgress.visibleProperty().bind(running);
+    buildProgress.managedProperty().bind(running);
+    statuses.setItems(buildStatuses.getRows());
+    clock.setCycleCount(Animation.INDEFINITE);
+  }
+
+  /**
+   * Shows the progress of a build that is about to start.
+   *
+   * @param builder   the builder running the build, which is cancelled by the cancel button
+   * @param fileNames the file names of the paths in the build, as passed to the builder
+   * @return the listener to pass to the builder, which may be called from any thread
+   */
+  public PathBuilder.Listener start(PathBuilder builder, List<String> fileNames) {
+    this.builder = builder;
+    buildStatuses.reset(fileNames);
+    start = System.nanoTime();
+    progress.setProgress(0);
+    cancel.setDisable(false);
+    updateSummary();
+    running.set(true);
+    clock.play();
+
+    return buildStatuses.listener(Platform::runLater, this::updateSummary);
+  }
+
+  /**
+   * Hides the progress once the build is complete.
+   */
+  public void finish() {
+    clock.stop();
+    running.set(false);
+    builder = null;
+  }
+
+  public ReadOnlyBooleanProperty runningProperty() {
+    return running.getReadOnlyProperty();
+  }
+
+  @FXML
+  private void cancel() {
+    if (builder != null) {
+      builder.cancel();
+      cancel.setDisable(true);
+      summary.setText("Cancelling...");
+    }
+  }
+
+  private void updateSummary() {
+    if (builder != null && builder.isCancelled()) {
+      return;
+    }
+    int done = buildStatuses.getDone();
+    int total = buildStatuses.getTotal();
+    progress.setProgress(total == 0 ? 1 : (double) done / total);
+    summary.setText(String.format("%d / %d paths, %.1f s", done, total, (System.nanoTime() - start) / 1e9));
+  }
+}
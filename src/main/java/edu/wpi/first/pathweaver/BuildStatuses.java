@@ -0,0 +1,91 @@
+package edu.wpi.first.pathweaver;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+import edu.wpi.first.pathweaver.build.BuildResult;
+import edu.wpi.first.pathweaver.build.PathBuilder;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+
+/**
+ * The status of every path of a build, one row per path, as shown by the {@link BuildProgressController}. Rows are
+ * keyed by the names the {@link PathBuilder} reports, which have no ".path" extension.
+ */
+class BuildStatuses {
+  private final ObservableList<String> rows = FXCollections.observableArrayList();
+  private final Map<String, Integer> indices = new HashMap<>();
+  private int done;
+
+  /**
+   * Queues every path of a build that is about to start.
+   *
+   * @param fileNames the file names of the paths, as passed to the builder
+   */
+  void reset(List<String> fileNames) {
+    indices.clear();
+    rows.clear();
+    done = 0;
+    for (String fileName : fileNames) {
+      String name = PathBuilder.pathName(fileName);
+      indices.put(name, rows.size());
+      rows.add(name + ": Queued");
+    }
+  }
+
+  /**
+   * Creates the listener that updates the rows as paths are built.
+   *
+   * @param executor   runs the updates on the thread that owns the rows
+   * @param onProgress called on that thread after a path has finished
+   * @return the listener to pass to the builder, which may be called from any thread
+   */
+  PathBuilder.Listener listener(Executor executor, Runnable onProgress) {
+    return new PathBuilder.Listener() {
+      @Override
+      public void pathStarted(String name) {
+        executor.execute(() -> setStatus(name, "Building"));
+      }
+
+      @Override
+      public void pathFinished(BuildResult result) {
+        executor.execute(() -> {
+          done++;
+          setStatus(result.getPathName(), status(result));
+          onProgress.run();
+        });
+      }
+    };
+  }
+
+  ObservableList<String> getRows() {
+    return rows;
+  }
+
+  int getDone() {
+    return done;
+  }
+
+  int getTotal() {
+    return indices.size();
+  }
+
+  private void setStatus(String name, String status) {
+    Integer row = indices.get(name);
+    if (row != null) {
+      rows.set(row, name + ": " + status);
+    }
+  }
+
+  private static String status(BuildResult result) {
+    if (BuildResult.CANCELLED.equals(result.getMessage())) {
+      return "Cancelled";
+    }
+    if (!result.isSuccess()) {
+      return "Failed: " + result.getMessage();
+    }
+    return result.isCached() ? "Up to date" : "Done";
+  }
+}
@@ -1,13 +1,18 @@
 package edu.wpi.first.pathweaver;
 
+import edu.wpi.first.pathweaver.export.DecimationTolerance;
+import edu.wpi.first.pathweaver.export.ExportFormat;
+import edu.wpi.first.pathweaver.export.TrajectoryBundle;
 import org.fxmisc.easybind.EasyBind;
 
 import java.io.File;
 import java.io.IOException;
 import java.util.List;
 import java.util.Objects;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import javafx.beans.binding.Bindings;
 import javafx.beans.binding.BooleanBinding;
 import javafx.beans.property.SimpleBooleanProperty;
 import javafx.collections.FXCollections;
@@ -17,6 +22,7 @@ import javafx.fxml.FXMLLoader;
 import javafx.scene.layout.Pane;
 import javafx.scene.layout.VBox;
 import javafx.scene.control.Button;
+import javafx.scene.control.CheckBox;
 import javafx.scene.control.ChoiceBox;
 import javafx.scene.control.Label;
 import javafx.scene.control.TextField;
@@ -58,7 +64,21 @@ public class CreateProjectController {
 	@FXML
 	private ChoiceBox<Unit<Length>> length;
 	@FXML
-	public ChoiceBox<ProjectPreferences.ExportUnit> export;
+	public ChoiceBox<ExportUnit> export;
+	@FXML
+	private ChoiceBox<ExportFormat> format;
+	@FXML
+	private CheckBox bundle;
+	@FXML
+	private TextField resamplePeriod;
+	@FXML
+	private TextField decimatePosition;
+	@FXML
+	private TextField decimateHeading;
+	@FXML
+	private TextField decimateVelocity;
+	@FXML
+	private Label decimateUnits;
 	@FXML
 	private Label browseLabel;
 	@FXML
@@ -97,10 +117,15 @@ public class CreateProjectController {
 			bind = bind.or(field.textProperty().isEmpty());
 		}
 		bind = bind.or(game.valueProperty().isNull());
+		var decimateFields = List.of(decimatePosition, decimateHeading, decimateVelocity);
+		bind = bind.or(Bindings.createBooleanBinding(this::isDecimationInvalid,
+				decimatePosition.textProperty(), decimateHeading.textProperty(), decimateVelocity.textProperty()));
 		create.disableProperty().bind(bind);
 
 		// Validate that numericFields contain decimal numbers
 		numericFields.forEach(textField -> textField.setTextFormatter(FxUtils.onlyPositiveDoubleText()));
+		resamplePeriod.setTextFormatter(FxUtils.onlyPositiveDoubleText());
+		decimateFields.forEach(textField -> textField.setTextFormatter(FxUtils.onlyPositiveDoubleText()));
 
 		game.getItems().addAll(Game.getGames());
 		game.getSelectionModel().select(Game.DEFAULT_GAME);
@@ -130,20 +155,46 @@ public class CreateProjectController {
 			}
 		});
 
-		export.getItems().addAll(ProjectPreferences.ExportUnit.values());
+		export.getItems().addAll(ExportUnit.values());
 		export.getSelectionModel().selectFirst();
 		export.setConverter(new StringConverter<>() {
 			@Override
-			public String toString(ProjectPreferences.ExportUnit object) {
+			public String toString(ExportUnit object) {
 				return object.getName();
 			}
 
 			@Override
-			public ProjectPreferences.ExportUnit fromString(String string) {
+			public ExportUnit fromString(String string) {
 				throw new UnsupportedOperationException();
 			}
 		});
 
+		format.getItems().addAll(ExportFormat.values());
+		format.getSelectionModel().selectFirst();
+		format.setConverter(new StringConverter<>() {
+			@Override
+			public String toString(ExportFormat object) {
+				return object.getName();
+			}
+
+			@Override
+			public ExportFormat fromString(String string) {
+				throw new UnsupportedOperationException();
+			}
+		});
+		format.setTooltip(new Tooltip("The file format to export trajectories in.\n"
+				+ "Protobuf files are smaller and faster to load on the robot than WPILib JSON."));
+		bundle.setTooltip(new Tooltip("Also write every trajectory into one " + TrajectoryBundle.FILE_NAME + " file\n"
+				+ "that robot code can memory map instead of opening and parsing each path."));
+		resamplePeriod.setTooltip(new Tooltip("(Optional) Export a state every this many seconds, for example 0.02\n"
+				+ "to match a 20 ms robot loop, so robot code can look states up by index.\n"
+				+ "The largest interpolation error is reported after each build.\n"
+				+ "Leave empty to export the states as generated."));
+		decimateFields.forEach(control -> control.setTooltip(new Tooltip("(Optional) Remove exported states that robot "
+				+ "code can interpolate from the states around them\nwithin these position, heading and velocity "
+				+ "tolerances, to make the exported files smaller.\nIgnored when a resample period is set. "
+				+ "Leave empty to export every state.")));
+
 
 
 		var lengthUnit = EasyBind.monadic(length.getSelectionModel().selectedItemProperty());
@@ -168,6 +219,8 @@ public class CreateProjectController {
 				control -> control.setTooltip(new Tooltip("The width between the center of each tire of the " +
 						"drivebase.  Even better would be a calculated track width from robot characterization.")));
 		trackWidthUnits.textProperty().bind(lengthUnit.map(SimpleUnitFormat.getInstance()::format));
+		decimateUnits.textProperty().bind(lengthUnit.map(unit -> SimpleUnitFormat.getInstance().format(unit) + ", °, "
+				+ SimpleUnitFormat.getInstance().format(PathUnits.getInstance().speedUnit(unit))));
 		// Show longer text for an extended period of time
 		Stream.of(directoryControls, outputControls).flatMap(List::stream)
 				.forEach(control -> control.getTooltip().setShowDuration(Duration.seconds(10)));
@@ -194,6 +247,12 @@ public class CreateProjectController {
 		game.getSelectionModel().select(Game.DEFAULT_GAME);
 		length.getSelectionModel().select(3); // Default is Meter
 		export.getSelectionModel().selectFirst();
+		format.getSelectionModel().selectFirst();
+		bundle.setSelected(false);
+		resamplePeriod.setText("");
+		decimatePosition.setText("");
+		decimateHeading.setText("");
+		decimateVelocity.setText("");
 		maxVelocity.setText("");
 		maxAcceleration.setText("");
 		trackWidth.setText("");
@@ -219,17 +278,41 @@ public class CreateProjectController {
 		ProgramPreferences.getInstance().addProject(directory.getAbsolutePath());
 		String lengthUnit = length.getValue().getName();
 		String exportUnit = export.getValue().getName();
+		String exportFormat = format.getValue().getName();
+		String resampleText = resamplePeriod.getText();
+		double period = resampleText == null || resampleText.isBlank() ? 0 : Double.parseDouble(resampleText);
+		DecimationTolerance decimation = decimatePosition.getText().isBlank() ? null
+				: new DecimationTolerance(Double.parseDouble(decimatePosition.getText()),
+						Math.toRadians(Double.parseDouble(decimateHeading.getText())),
+						Double.parseDouble(decimateVelocity.getText()));
 		double velocityMax = Double.parseDouble(maxVelocity.getText());
 		double accelerationMax = Double.parseDouble(maxAcceleration.getText());
 		double trackWidthDistance = Double.parseDouble(trackWidth.getText());
-		ProjectPreferences.Values values = new ProjectPreferences.Values(lengthUnit, exportUnit, velocityMax,
-				accelerationMax, trackWidthDistance, game.getValue().getName(), outputPath);
+		ProjectValues values = new ProjectValues(lengthUnit, exportUnit, exportFormat,
+				bundle.isSelected(), period, decimation, velocityMax, accelerationMax, trackWidthDistance,
+				game.getValue().getName(), outputPath);
 		ProjectPreferences prefs = ProjectPreferences.getInstance(directory.getAbsolutePath());
 		prefs.setValues(values);
 		editing = false;
 		FxUtils.loadMainScreen(vBox.getScene(), getClass());
 	}
 
+	/**
+	 * Decimation needs all three tolerances to be positive, or none of them to be set.
+	 */
+	private boolean isDecimationInvalid() {
+		var texts = Stream.of(decimatePosition, decimateHeading, decimateVelocity).map(TextField::getText)
+				.collect(Collectors.toList());
+		if (texts.stream().allMatch(text -> text == null || text.isBlank())) {
+			return false;
+		}
+		try {
+			return !texts.stream().allMatch(text -> text != null && Double.parseDouble(text) > 0);
+		} catch (NumberFormatException e) {
+			return true;
+		}
+	}
+
 	@FXML
 	private void browseDirectory() {
 		browse(directory);
@@ -257,7 +340,7 @@ public class CreateProjectController {
 	}
 
 	private void setupEditProject() {
-		ProjectPreferences.Values values = ProjectPreferences.getInstance().getValues();
+		ProjectValues values = ProjectPreferences.getInstance().getValues();
 		directory.setText(ProjectPreferences.getInstance().getDirectory());
 		outputDirectory.setText(ProjectPreferences.getInstance().getValues().getOutputDir());
 		create.setText("Save Project");
@@ -267,6 +350,15 @@ public class CreateProjectController {
 		game.setValue(Game.fromPrettyName(values.getGameName()));
 		length.setValue(values.getLengthUnit());
 		export.setValue(values.getExportUnit());
+		format.setValue(values.getExportFormat());
+		bundle.setSelected(values.isExportBundle());
+		resamplePeriod.setText(values.getResamplePeriod() > 0 ? String.valueOf(values.getResamplePeriod()) : "");
+		DecimationTolerance decimation = values.getDecimation();
+		if (decimation != null) {
+			decimatePosition.setText(String.valueOf(decimation.getPosition()));
+			decimateHeading.setText(String.valueOf(Math.toDegrees(decimation.getHeading())));
+			decimateVelocity.setText(String.valueOf(decimation.getVelocity()));
+		}
 		maxVelocity.setText(String.valueOf(values.getMaxVelocity()));
 		maxAcceleration.setText(String.valueOf(values.getMaxAcceleration()));
 		trackWidth.setText(String.valueOf(values.getTrackWidth()));
@@ -2,15 +2,22 @@ package edu.wpi.first.pathweaver;
 
 import edu.wpi.first.pathweaver.global.CurrentSelections;
 import edu.wpi.first.pathweaver.global.DragHandler;
+import edu.wpi.first.pathweaver.global.ViewScale;
 import edu.wpi.first.pathweaver.path.Path;
+import edu.wpi.first.pathweaver.path.PathCsvUtil;
+import edu.wpi.first.pathweaver.path.PathOverview;
+import edu.wpi.first.pathweaver.path.SegmentIndex;
 import edu.wpi.first.pathweaver.path.wpilib.WpilibPath;
+import javafx.beans.InvalidationListener;
 import javafx.beans.binding.Bindings;
 import javafx.collections.FXCollections;
 import javafx.collections.ListChangeListener;
 import javafx.collections.ObservableList;
 import javafx.css.PseudoClass;
 import javafx.fxml.FXML;
+import javafx.geometry.Point2D;
 import javafx.scene.Group;
+import javafx.scene.canvas.Canvas;
 import javafx.scene.control.TreeItem;
 import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
@@ -21,8 +28,15 @@ import javafx.scene.input.KeyEvent;
 import javafx.scene.layout.Pane;
 import javafx.scene.transform.Scale;
 
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.Optional;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
 @SuppressWarnings("PMD.UnusedPrivateMethod")
 public class FieldDisplayController {
+    private static final Logger LOGGER = Logger.getLogger(FieldDisplayController.class.getName());
     private static final PseudoClass SELECTED_CLASS = PseudoClass.getPseudoClass("selected");
 
     @FXML
@@ -35,8 +49,12 @@ public class FieldDisplayController {
     private Pane topPane;
     @FXML
     private Group pathGroup;
+    @FXML
+    private Canvas overviewCanvas;
 
     private Field field;
+    private PathOverview overview;
+    private String overviewDirectory;
 
     private final ObservableList<Path> pathList = FXCollections.observableArrayList();
 
@@ -55,8 +73,10 @@ public class FieldDisplayController {
                 topPane.widthProperty(), topPane.heightProperty()));
 
         group.getTransforms().add(scale);
+        ViewScale.pixelsPerUnitProperty().bind(scale.xProperty().multiply(field.getScale()));
 
         setupDrawPaneSizing();
+        setupOverview();
         this.drawPane.setOnMouseClicked(e -> {
             if (CurrentSelections.getCurWaypoint() != null) {
                 CurrentSelections.getCurWaypoint().getIcon().pseudoClassStateChanged(SELECTED_CLASS, false);
@@ -66,6 +86,14 @@ public class FieldDisplayController {
             if(CurrentSelections.getCurPath() != null) {
                 CurrentSelections.getCurPath().update();
             }
+
+            // Lines are thin, so a click near one selects its path even if it misses the line itself
+            Optional<Path> clicked = pathAt(e.getSceneX(), e.getSceneY());
+            if (clicked.isPresent()) {
+                CurrentSelections.setCurPath(clicked.get());
+            } else {
+                overview.pathAt(e.getSceneX(), e.getSceneY()).ifPresent(this::editOverviewPath);
+            }
         });
 
         new DragHandler(this, drawPane); // Handler doesn't need to be kept around by this, so just do setup
@@ -73,6 +101,30 @@ public class FieldDisplayController {
         setupPathListener();
     }
 
+    private Optional<Path> pathAt(double sceneX, double sceneY) {
+        double maxDistance = PathOverview.HIT_PIXELS / ViewScale.getPixelsPerUnit();
+        Path closest = null;
+        for (Path path : pathList) {
+            Point2D point = path.getMainGroup().sceneToLocal(sceneX, sceneY);
+            Optional<SegmentIndex.Hit> hit = path.segmentAt(point.getX(), point.getY(), maxDistance);
+            if (hit.isPresent()) {
+                maxDistance = hit.get().getDistance();
+                closest = path;
+            }
+        }
+        return Optional.ofNullable(closest);
+    }
+
+    private void setupOverview() {
+        overviewCanvas.widthProperty().bind(topPane.widthProperty());
+        overviewCanvas.heightProperty().bind(topPane.heightProperty());
+        overview = new PathOverview(overviewCanvas, drawPane, field);
+        InvalidationListener redraw = observable -> overview.redraw();
+        overviewCanvas.widthProperty().addListener(redraw);
+        overviewCanvas.heightProperty().addListener(redraw);
+        drawPane.localToSceneTransformProperty().addListener(redraw);
+    }
+
     private void setupPathListener() {
         pathList.addListener((ListChangeListener<Path>) change -> {
             while (change.next()) {
@@ -89,6 +141,9 @@ public class FieldDisplayController {
     @FXML
     private void keyPressed(KeyEvent event) {
         Path curPath = CurrentSelections.getCurPath();
+        if (curPath == null) {
+            return;
+        }
         KeyCombination save = new KeyCodeCombination(KeyCode.S, KeyCombination.CONTROL_DOWN);
         if (event.getCode() == KeyCode.DELETE || event.getCode() == KeyCode.BACK_SPACE) {
             curPath.removeWaypoint(CurrentSelections.getCurWaypoint());
@@ -122,11 +177,42 @@ public class FieldDisplayController {
         return newPath;
     }
 
+    /**
+     * Adds a read-only path to the controller, which is drawn without creating nodes for its segments and waypoints.
+     * The path becomes editable when it is clicked, and the path that was being edited becomes read-only.
+     *
+     * @param fileLocations The folder containing the path file
+     * @param newValue      The TreeItem holding the name of this path
+     * @param colorIndex    The index of the color to draw the path with
+     */
+    public void addOverviewPath(String fileLocations, TreeItem<String> newValue, int colorIndex) {
+        String fileName = newValue.getValue();
+        try {
+            overview.add(fileName, PathCsvUtil.readControlPoints(Paths.get(fileLocations, fileName)), colorIndex);
+            overviewDirectory = fileLocations;
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Could not read Path file " + fileName + ", adding it as an editable path", e);
+            addPath(fileLocations, newValue).enableSubchildSelector(colorIndex);
+        }
+    }
+
+    private void editOverviewPath(String fileName) {
+        for (Path path : pathList) {
+            overview.add(path);
+        }
+        pathList.clear();
+        overview.take(fileName, name -> PathIOUtil.importPath(overviewDirectory, name)).ifPresent(path -> {
+            pathList.add(path);
+            CurrentSelections.setCurPath(path);
+        });
+    }
+
     /**
      * Remove all paths from Controller.
      */
     public void removeAllPath() {
         pathList.clear();
+        overview.clear();
     }
 
     private void setupDrawPaneSizing() {
@@ -145,7 +231,7 @@ public class FieldDisplayController {
      */
     public void flip(boolean horizontal) {
         Path curPath = CurrentSelections.getCurPath();
-        curPath.flip(horizontal, drawPane);
+        curPath.flip(horizontal);
         SaveManager.getInstance().addChange(curPath);
     }
 
@@ -13,9 +13,13 @@ import java.util.Locale;
 @SuppressWarnings("PMD.UseUtilityClass")
 public final class Main {
   public static void main(String[] args) {
+    Locale.setDefault(new Locale("en", "US"));
+    if (BuildCommand.isBuildCommand(args)) {
+      // Headless builds never touch JavaFX
+      System.exit(BuildCommand.run(args));
+    }
     // JavaFX 11+ uses GTK3 by default, and has problems on some display servers
     // This flag forces JavaFX to use GTK2
-    Locale.setDefault(new Locale("en", "US"));
     System.setProperty("jdk.gtk.version", "2");
     Application.launch(PathWeaver.class, args);
   }
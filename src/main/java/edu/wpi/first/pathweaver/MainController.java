@@ -1,17 +1,28 @@
 package edu.wpi.first.pathweaver;
 
 import java.io.IOException;
-import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.OptionalDouble;
+import java.util.concurrent.CompletionException;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import edu.wpi.first.pathweaver.build.BuildCache;
+import edu.wpi.first.pathweaver.build.BuildReport;
+import edu.wpi.first.pathweaver.build.BuildResult;
+import edu.wpi.first.pathweaver.build.PathBuilder;
 import edu.wpi.first.pathweaver.global.CurrentSelections;
+import edu.wpi.first.pathweaver.global.TangentSmoothing;
 import edu.wpi.first.pathweaver.path.Path;
 import edu.wpi.first.pathweaver.path.wpilib.WpilibPath;
+import javafx.application.Platform;
 import javafx.beans.value.ChangeListener;
 import javafx.beans.value.ObservableValue;
+import javafx.beans.value.WeakChangeListener;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Scene;
@@ -19,12 +30,14 @@ import javafx.scene.control.Alert;
 import javafx.scene.control.Button;
 import javafx.scene.control.ContextMenu;
 import javafx.scene.control.MenuItem;
+import javafx.scene.control.ToggleButton;
 import javafx.scene.control.TreeItem;
 import javafx.scene.control.TreeView;
 import javafx.scene.input.KeyCode;
 import javafx.scene.input.KeyEvent;
 import javafx.scene.layout.GridPane;
 import javafx.scene.layout.Pane;
+import javafx.scene.layout.VBox;
 import javafx.stage.Stage;
 
 
@@ -45,6 +58,9 @@ public class MainController {
   @FXML private GridPane editWaypoint;
   @FXML private EditWaypointController editWaypointController;
 
+  @FXML private VBox buildProgress;
+  @FXML private BuildProgressController buildProgressController;
+
   private String directory = ProjectPreferences.getInstance().getDirectory();
   private final String pathDirectory = directory + "/Paths/";
   private final String autonDirectory = directory + "/Autos/";
@@ -53,10 +69,15 @@ public class MainController {
   private final TreeItem<String> pathRoot = new TreeItem<>("Paths");
 
   private TreeItem<String> selected = null;
+  // The smoothing setting outlives this controller, since the view is reloaded after every Edit Project. The listener
+  // is kept in a field and added weakly so replaced controllers can be collected.
+  private final ChangeListener<Boolean> smoothingListener = (observable, oldValue, newValue) -> smoothCurrentPath();
 
   @FXML private Button duplicate;
   @FXML private Button flipHorizontal;
   @FXML private Button flipVertical;
+  @FXML private Button buildPaths;
+  @FXML private ToggleButton smoothTangents;
 
   @FXML
   private void initialize() {
@@ -86,6 +107,9 @@ public class MainController {
     duplicate.disableProperty().bind(CurrentSelections.curPathProperty().isNull());
     flipHorizontal.disableProperty().bind(CurrentSelections.curPathProperty().isNull());
     flipVertical.disableProperty().bind(CurrentSelections.curPathProperty().isNull());
+    buildPaths.disableProperty().bind(buildProgressController.runningProperty());
+    smoothTangents.selectedProperty().bindBidirectional(TangentSmoothing.enabledProperty());
+    TangentSmoothing.enabledProperty().addListener(new WeakChangeListener<>(smoothingListener));
 
     editWaypointController.bindToWaypoint(CurrentSelections.curWaypointProperty(), fieldDisplayController);
   }
@@ -276,8 +300,10 @@ public class MainController {
         fieldDisplayController.removeAllPath();
         if (newValue != autonRoot) {
           if (newValue.getParent() == autonRoot) { //is an auton with children
+            // Paths are drawn read-only until one is clicked, so large autons don't create thousands of nodes
+            CurrentSelections.setCurPath(null);
             for (TreeItem<String> it : selected.getChildren()) {
-              fieldDisplayController.addPath(pathDirectory, it).enableSubchildSelector(FxUtils.getItemIndex(it));
+              fieldDisplayController.addOverviewPath(pathDirectory, it, FxUtils.getItemIndex(it));
             }
           } else { //has no children so try to display path
             Path path = fieldDisplayController.addPath(pathDirectory, newValue);
@@ -321,6 +347,16 @@ public class MainController {
     fieldDisplayController.flip(false);
   }
 
+  private void smoothCurrentPath() {
+    Path path = CurrentSelections.getCurPath();
+    // A replaced view may not have been collected yet; only the one on screen smooths the path
+    if (TangentSmoothing.isEnabled() && path != null && paths.getScene() != null) {
+      path.smoothTangents();
+      path.update();
+      SaveManager.getInstance().addChange(path);
+    }
+  }
+
   @FXML
   private void duplicate() {
     Path newPath = fieldDisplayController.duplicate(pathDirectory);
@@ -354,27 +390,75 @@ public class MainController {
     }
 
     java.nio.file.Path output = ProjectPreferences.getInstance().getOutputDir().toPath();
-    try {
-      Files.createDirectories(output);
-    } catch (IOException e) {
-      LOGGER.log(Level.WARNING, "Could not export to " + output, e);
-    }
+    List<String> pathNames = new ArrayList<>();
     for (TreeItem<String> pathName : pathRoot.getChildren()) {
-      Path path = PathIOUtil.importPath(pathDirectory, pathName.getValue());
+      pathNames.add(pathName.getValue());
+    }
+    // Generation and file I/O run on worker threads; progress and results come back on the FX thread
+    PathBuilder builder = new PathBuilder(ProjectPreferences.getInstance().getExportSettings(),
+        BuildCache.forProject(Paths.get(directory)));
+    PathBuilder.Listener listener = buildProgressController.start(builder, pathNames);
+    builder.build(Paths.get(pathDirectory), pathNames, output, listener)
+        .whenCompleteAsync((report, error) -> {
+          // Always finished, so a build that fails unexpectedly does not leave the progress panel up
+          buildProgressController.finish();
+          if (error != null) {
+            showBuildError(error);
+          } else if (report.isCancelled()) {
+            showBuildCancelled(report.getResults());
+          } else {
+            showBuildResults(output, report);
+          }
+        }, Platform::runLater);
+  }
 
-      java.nio.file.Path pathNameFile = output.resolve(path.getPathNameNoExtension());
+  private void showBuildError(Throwable error) {
+    Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    LOGGER.log(Level.WARNING, "Could not build paths", cause);
+    Alert alert = new Alert(Alert.AlertType.ERROR);
+    FxUtils.applyDarkMode(alert);
+    alert.setTitle("Build failed");
+    alert.setHeaderText("Build failed");
+    alert.setContentText("The build stopped unexpectedly: " + cause);
+    alert.show();
+  }
 
-      if(!path.getSpline().writeToFile(pathNameFile)) {
-        Alert alert = new Alert(Alert.AlertType.WARNING);
-        FxUtils.applyDarkMode(alert);
-        alert.setTitle("Path export failure!");
-        alert.setContentText("Could not export to: " + output.toAbsolutePath());
-      }
+  private void showBuildCancelled(List<BuildResult> results) {
+    long finished = results.stream().filter(result -> !BuildResult.CANCELLED.equals(result.getMessage())).count();
+    Alert alert = new Alert(Alert.AlertType.INFORMATION);
+    FxUtils.applyDarkMode(alert);
+    alert.setTitle("Build cancelled");
+    alert.setHeaderText("Build cancelled");
+    alert.setContentText(finished + " of " + results.size() + " paths were built before the build was cancelled.\n"
+        + "The bundle and manifest were not updated.");
+    alert.show();
+  }
+
+  private void showBuildResults(java.nio.file.Path output, BuildReport report) {
+    List<BuildResult> results = report.getResults();
+    List<BuildResult> failures = report.getFailures();
+    if (!failures.isEmpty() || !report.getErrors().isEmpty()) {
+      Alert alert = new Alert(Alert.AlertType.WARNING);
+      FxUtils.applyDarkMode(alert);
+      alert.setTitle("Path export failure!");
+      alert.setHeaderText(failures.isEmpty()
+          ? "Could not export the shared files"
+          : "Could not export " + failures.size() + " of " + results.size() + " paths");
+      alert.setContentText("Could not export to: " + output.toAbsolutePath() + "\n\n"
+          + Stream.concat(failures.stream().map(BuildResult::toString), report.getErrors().stream())
+              .collect(Collectors.joining("\n")));
+      alert.show();
     }
     Alert alert = new Alert(Alert.AlertType.INFORMATION);
     FxUtils.applyDarkMode(alert);
     alert.setTitle("Paths exported!");
-    alert.setContentText("Paths exported to: " + output.toAbsolutePath());
+    long cached = report.getCachedCount();
+    OptionalDouble resampleError = BuildResult.maxResampleError(results);
+    alert.setContentText("Paths exported to: " + output.toAbsolutePath() + "\n"
+        + (results.size() - failures.size() - cached) + " rebuilt, " + cached + " already up to date"
+        + (resampleError.isPresent()
+            ? "\nLargest resampling error: " + String.format("%.3g", resampleError.getAsDouble()) : "")
+        + BuildResult.totalDecimation(results).map(decimation -> "\nDecimated: " + decimation).orElse(""));
 
     alert.show();
   }
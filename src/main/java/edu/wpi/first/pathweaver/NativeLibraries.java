@@ -0,0 +1,34 @@
+package edu.wpi.first.pathweaver;
+
+import edu.wpi.first.math.jni.TrajectoryUtilJNI;
+import edu.wpi.first.util.CombinedRuntimeLoader;
+import edu.wpi.first.util.WPIUtilJNI;
+
+import java.io.IOException;
+
+/**
+ * Loads the WPILib native libraries bundled with PathWeaver.
+ */
+final class NativeLibraries {
+  private static boolean loaded;
+
+  private NativeLibraries() {
+    throw new UnsupportedOperationException("This is a utility class!");
+  }
+
+  /**
+   * Loads the native libraries needed to export trajectories. Does nothing if they have already been loaded.
+   *
+   * @throws IOException if the libraries could not be extracted
+   */
+  static synchronized void load() throws IOException {
+    if (loaded) {
+      return;
+    }
+    WPIUtilJNI.Helper.setExtractOnStaticLoad(false);
+    TrajectoryUtilJNI.Helper.setExtractOnStaticLoad(false);
+    CombinedRuntimeLoader.loadLibraries(NativeLibraries.class, "wpiutiljni",
+        "wpimathjni");
+    loaded = true;
+  }
+}
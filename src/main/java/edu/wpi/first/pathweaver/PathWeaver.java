@@ -1,9 +1,6 @@
 package edu.wpi.first.pathweaver;
 
-import edu.wpi.first.math.jni.TrajectoryUtilJNI;
 import edu.wpi.first.pathweaver.extensions.ExtensionManager;
-import edu.wpi.first.util.CombinedRuntimeLoader;
-import edu.wpi.first.util.WPIUtilJNI;
 import java.awt.Desktop;
 import java.io.IOException;
 import java.net.URI;
@@ -23,10 +20,7 @@ public class PathWeaver extends Application {
 
   @Override
   public void start(Stage primaryStage) throws IOException {
-    WPIUtilJNI.Helper.setExtractOnStaticLoad(false);
-    TrajectoryUtilJNI.Helper.setExtractOnStaticLoad(false);
-    CombinedRuntimeLoader.loadLibraries(PathWeaver.class, "wpiutiljni",
-        "wpimathjni");
+    NativeLibraries.load();
 
     ExtensionManager.getInstance().refresh();
     Pane root = FXMLLoader.load(getClass().getResource("welcomeScreen.fxml"));
@@ -3,77 +3,35 @@ package edu.wpi.first.pathweaver;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.JsonParseException;
-import com.google.gson.annotations.SerializedName;
+import edu.wpi.first.pathweaver.export.ExportFormat;
+import edu.wpi.first.pathweaver.export.ExportSettings;
 import javafx.scene.control.Alert;
 import javafx.scene.layout.Region;
 import javafx.stage.Stage;
 
-import javax.measure.Unit;
-import javax.measure.quantity.Length;
 import java.io.*;
 import java.nio.file.Files;
 import java.nio.file.Paths;
-import java.util.Arrays;
-import java.util.Map;
 import java.util.logging.Level;
 import java.util.logging.Logger;
-import java.util.stream.Collectors;
 
 @SuppressWarnings("PMD.SingleMethodSingleton")
 public class ProjectPreferences {
-	public enum ExportUnit {
-		METER("Always Meters"), SAME("Same as Project");
-		private static final Map<String, ExportUnit> STRING_EXPORT_UNIT_MAP;
-
-		private final String name;
-
-		ExportUnit(String name) {
-			this.name = name;
-		}
-
-		public String getName() {
-			return name;
-		}
-
-		static {
-			STRING_EXPORT_UNIT_MAP = Arrays.stream(values()).collect(Collectors.toMap(n -> n.name, n -> n));
-		}
-
-		public static ExportUnit fromString(String s) {
-			ExportUnit result = STRING_EXPORT_UNIT_MAP.get(s);
-
-			if (result == null) {
-				throw new IllegalArgumentException();
-			}
-
-			return result;
-		}
-	}
-
 	private static final String FILE_NAME = "pathweaver.json";
 
 	private static ProjectPreferences instance;
 
 	private final String directory;
 
-	private Values values;
+	private ProjectValues values;
 
 	private ProjectPreferences(String directory) {
 		this.directory = directory;
 		try (BufferedReader reader = Files.newBufferedReader(Paths.get(directory, FILE_NAME))) {
 			Gson gson = new Gson();
-			values = gson.fromJson(reader, Values.class);
-
-			if (values.gameName == null) {
-				values.gameName = Game.DEFAULT_GAME.getName();
-			}
-			if (values.lengthUnit == null) {
-				values.lengthUnit = "METER";
-			}
-
-			if(values.exportUnit == null) {
-				values.exportUnit = "Same as Project";
+			values = gson.fromJson(reader, ProjectValues.class);
 
+			if (!values.fillDefaults(Game.DEFAULT_GAME.getName())) {
 				Alert alert = new Alert(Alert.AlertType.WARNING);
 				FxUtils.applyDarkMode(alert);
 				alert.setTitle("Export Units Warning");
@@ -97,13 +55,26 @@ public class ProjectPreferences {
 
 			alert.show();
 			setDefaults();
+		} catch (IllegalArgumentException e) {
+			Alert alert = new Alert(Alert.AlertType.ERROR);
+			FxUtils.applyDarkMode(alert);
+			alert.setTitle("Preferences import error");
+			alert.setContentText(e.getMessage() + ". Decimation has been turned off. "
+					+ "Please click on Edit Project to choose new tolerances.");
+			((Stage) alert.getDialogPane().getScene().getWindow()).setAlwaysOnTop(true);
+			alert.getDialogPane().setMinHeight(Region.USE_PREF_SIZE);
+
+			alert.show();
+			values = values.withoutDecimation();
+			updateValues();
 		} catch (IOException e) {
 			setDefaults();
 		}
 	}
 
 	private void setDefaults() {
-		values = new Values("FOOT", "Always Meters", 10.0, 60.0, 2.0, Game.DEFAULT_GAME.getName(), null);
+		values = new ProjectValues("FOOT", "Always Meters", ExportFormat.JSON.getName(), false, 0, null, 10.0, 60.0, 2.0,
+				Game.DEFAULT_GAME.getName(), null);
 		updateValues();
 	}
 
@@ -127,7 +98,7 @@ public class ProjectPreferences {
 	 * @param values
 	 *            Values to set for preferences.
 	 */
-	public void setValues(Values values) {
+	public void setValues(ProjectValues values) {
 		this.values = values;
 		updateValues();
 	}
@@ -177,12 +148,10 @@ public class ProjectPreferences {
 	 * @return Field for project's game year.
 	 */
 	public Field getField() {
-		if (values.getGameName() == null) {
-			values.gameName = Game.DEFAULT_GAME.getName();
-		}
-		Game game = Game.fromPrettyName(values.gameName);
+		String gameName = values.getGameName() == null ? Game.DEFAULT_GAME.getName() : values.getGameName();
+		Game game = Game.fromPrettyName(gameName);
 		if (game == null) {
-			throw new UnsupportedOperationException("The referenced game is unknown: \"" + values.gameName + "\"");
+			throw new UnsupportedOperationException("The referenced game is unknown: \"" + gameName + "\"");
 		}
 		Field field = game.getField();
 		field.convertUnit(values.getLengthUnit());
@@ -195,110 +164,19 @@ public class ProjectPreferences {
 	 * @return File object of Folder to output generated paths to.
 	 */
 	public File getOutputDir() {
-		if (values.getOutputDir() == null || values.getOutputDir().isBlank()) {
-			File parentDirectory = new File(directory).getParentFile();
-			return getOutputDir(parentDirectory);
-		} else {
-			File output = new File(directory, values.getOutputDir());
-			return getOutputDir(output);
-		}
-	}
-
-	/**
-	 * Returns the output directory relative to a specified directory. If the
-	 * directory is an FRC project, it returns the proper deploy directory.
-	 * Otherwise it simply returns the output subdirectory.
-	 *
-	 * @param directory
-	 *            Directory to return output directory for.
-	 * @return A File that is the output directory.
-	 */
-	private File getOutputDir(File directory) {
-		if (isFRCProject(directory)) {
-			return getDeployDirectory(directory);
-		} else {
-			return new File(directory, "output");
-		}
-	}
-
-	private File getDeployDirectory(File directory) {
-		return new File(directory, "src/main/deploy/paths");
+		return values.getOutputDirectory(directory);
 	}
 
-	private boolean isFRCProject(File directory) {
-		return new File(directory, "build.gradle").exists();
-	}
-
-	public Values getValues() {
+	public ProjectValues getValues() {
 		return values;
 	}
 
-	public static class Values {
-		@SuppressWarnings("PMD.ImmutableField")
-		private String lengthUnit;
-		@SuppressWarnings("PMD.ImmutableField")
-		private String exportUnit;
-		private final double maxVelocity;
-		private final double maxAcceleration;
-		@SerializedName(value = "trackWidth", alternate = "wheelBase")
-		private final double trackWidth;
-		private String gameName;
-		private final String outputDir;
-
-		/**
-		 * Constructor for Values of ProjectPreferences.
-		 *
-		 * @param lengthUnit
-		 *            The unit to use for distances
-		 * @param maxVelocity
-		 *            The maximum velocity the body is capable of travelling at
-		 * @param maxAcceleration
-		 *            The maximum acceleration to use
-		 * @param trackWidth
-		 *            The width between the center of each tire of the drivebase.  Even better would be a calculated
-		 *            track width from robot characterization.
-		 * @param gameName
-		 *            The year/FRC game
-		 * @param outputDir
-		 *            The directory for the output files
-		 */
-		public Values(String lengthUnit, String exportUnit, double maxVelocity, double maxAcceleration,
-				double trackWidth, String gameName, String outputDir) {
-			this.lengthUnit = lengthUnit;
-			this.exportUnit = exportUnit;
-			this.maxVelocity = maxVelocity;
-			this.maxAcceleration = maxAcceleration;
-			this.trackWidth = trackWidth;
-			this.gameName = gameName;
-			this.outputDir = outputDir;
-		}
-
-		public Unit<Length> getLengthUnit() {
-			return PathUnits.getInstance().length(this.lengthUnit);
-		}
-
-		public ExportUnit getExportUnit() {
-			return ExportUnit.fromString(exportUnit);
-		}
-
-		public double getMaxVelocity() {
-			return maxVelocity;
-		}
-
-		public double getMaxAcceleration() {
-			return maxAcceleration;
-		}
-
-		public double getTrackWidth() {
-			return trackWidth;
-		}
-
-		public String getGameName() {
-			return gameName;
-		}
-
-		public String getOutputDir() {
-			return outputDir;
-		}
+	/**
+	 * Takes a snapshot of the settings used to export trajectories.
+	 *
+	 * @return The export settings for the current project values and field.
+	 */
+	public ExportSettings getExportSettings() {
+		return values.getExportSettings(getField().getRealLength());
 	}
 }
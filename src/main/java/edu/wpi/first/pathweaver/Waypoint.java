@@ -1,6 +1,7 @@
 package edu.wpi.first.pathweaver;
 
-import javafx.beans.binding.Bindings;
+import edu.wpi.first.pathweaver.path.ControlPoint;
+import javafx.beans.InvalidationListener;
 import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.DoubleProperty;
 import javafx.beans.property.SimpleBooleanProperty;
@@ -36,6 +37,12 @@ public class Waypoint {
 
 	private final Line tangentLine;
 	private final Polygon icon;
+	private final InvalidationListener shapeListener = observable -> {
+		if (!setting) {
+			updateShapes();
+		}
+	};
+	private boolean setting = false;
 
 	/**
 	 * Creates Waypoint object containing javafx circle.
@@ -52,20 +59,34 @@ public class Waypoint {
 		lockTangent.set(fixedAngle);
 		reversed.set(reverse);
 		setCoords(position);
+		setTangent(tangentVector);
 
 		icon = new Polygon(0.0, SIZE / 3, SIZE, 0.0, 0.0, -SIZE / 3);
 		setupIcon();
 
 		tangentLine = new Line();
 		tangentLine.getStyleClass().add("tangent");
-		tangentLine.startXProperty().bind(x);
-		//Convert from WPILib to JavaFX coords
-		tangentLine.startYProperty().bind(y.negate());
-		setTangent(tangentVector);
-		tangentLine.endXProperty().bind(Bindings.createObjectBinding(() -> getTangentX() + getX(), tangentX, x));
 
+		updateShapes();
+		x.addListener(shapeListener);
+		y.addListener(shapeListener);
+		tangentX.addListener(shapeListener);
+		tangentY.addListener(shapeListener);
+	}
+
+	/**
+	 * Moves the icon and tangent line to the position and tangent of this Waypoint. Reading every property also
+	 * validates it again, so the invalidation listener hears the next change of each.
+	 */
+	private void updateShapes() {
 		//Convert from WPILib to JavaFX coords
-		tangentLine.endYProperty().bind(Bindings.createObjectBinding(() -> -getTangentY() + -getY(), tangentY, y));
+		icon.setTranslateX(getX());
+		icon.setTranslateY(-getY());
+		icon.setRotate(Math.toDegrees(Math.atan2(-getTangentY(), getTangentX())));
+		tangentLine.setStartX(getX());
+		tangentLine.setStartY(-getY());
+		tangentLine.setEndX(getTangentX() + getX());
+		tangentLine.setEndY(-getTangentY() + -getY());
 	}
 
 	public void enableSubchildSelector(int i) {
@@ -77,14 +98,7 @@ public class Waypoint {
 		icon.setLayoutX(-(icon.getLayoutBounds().getMaxX() + icon.getLayoutBounds().getMinX()) / 2 - ICON_X_OFFSET);
 		icon.setLayoutY(-(icon.getLayoutBounds().getMaxY() + icon.getLayoutBounds().getMinY()) / 2);
 
-		icon.translateXProperty().bind(x);
-		//Convert from WPILib to JavaFX coords
-		icon.translateYProperty().bind(y.negate());
 		FxUtils.applySubchildClasses(this.icon);
-		this.icon.rotateProperty()
-				.bind(Bindings.createObjectBinding(
-						() -> getTangent() == null ? 0.0 : Math.toDegrees(Math.atan2(-getTangentY(), getTangentX())),
-						tangentX, tangentY));
 		icon.getStyleClass().add("waypoint");
 	}
 
@@ -182,6 +196,32 @@ public class Waypoint {
 		this.y.set(y);
 	}
 
+	/**
+	 * Moves this Waypoint and sets its tangent at once. The icon and tangent line are redrawn once, instead of once
+	 * for each coordinate.
+	 *
+	 * @param x
+	 *            The new x coordinate.
+	 * @param y
+	 *            The new y coordinate.
+	 * @param tangentX
+	 *            The new x component of the tangent.
+	 * @param tangentY
+	 *            The new y component of the tangent.
+	 */
+	public void set(double x, double y, double tangentX, double tangentY) {
+		setting = true;
+		try {
+			this.x.set(x);
+			this.y.set(y);
+			this.tangentX.set(tangentX);
+			this.tangentY.set(tangentY);
+		} finally {
+			setting = false;
+		}
+		updateShapes();
+	}
+
 	public Point2D getCoords() {
 		return new Point2D(getX(), getY());
 	}
@@ -221,10 +261,17 @@ public class Waypoint {
 	 */
 	public void convertUnit(Unit<Length> from, Unit<Length> to) {
 		var converter = from.getConverterTo(to);
-		x.set(converter.convert(x.get()));
-		y.set(converter.convert(y.get()));
-		tangentX.set(converter.convert(tangentX.get()));
-		tangentY.set(converter.convert(tangentY.get()));
+		set(converter.convert(getX()), converter.convert(getY()),
+				converter.convert(getTangentX()), converter.convert(getTangentY()));
+	}
+
+	/**
+	 * Takes an immutable snapshot of the parts of this Waypoint that shape the spline.
+	 *
+	 * @return The position, tangent and direction of this Waypoint.
+	 */
+	public ControlPoint toControlPoint() {
+		return new ControlPoint(getX(), getY(), getTangentX(), getTangentY(), isReversed());
 	}
 
 	public Waypoint copy() {
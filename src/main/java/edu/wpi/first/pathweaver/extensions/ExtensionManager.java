@@ -75,6 +75,15 @@ public final class ExtensionManager {
         .collect(Collectors.toList());
   }
 
+  /**
+   * Gets the directory game extensions are loaded from.
+   *
+   * @return the extension directory
+   */
+  public Path getDirectory() {
+    return Paths.get(directory);
+  }
+
   /**
    * Gets the list of discovered games. The list will be empty until {@link #refresh()} is called.
    *
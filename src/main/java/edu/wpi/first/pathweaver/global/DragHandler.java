@@ -5,6 +5,7 @@ import edu.wpi.first.pathweaver.FieldDisplayController;
 import edu.wpi.first.pathweaver.SaveManager;
 import edu.wpi.first.pathweaver.Waypoint;
 import edu.wpi.first.pathweaver.path.Path;
+import edu.wpi.first.pathweaver.path.PathTransform;
 import javafx.geometry.Point2D;
 import javafx.scene.input.DragEvent;
 import javafx.scene.input.Dragboard;
@@ -14,6 +15,8 @@ import javafx.scene.layout.Pane;
 /**
  * This class handles the drag and drop functionality for PathWeaver. Implementors should be sure that
  * the appropriate property in {@link CurrentSelections} is set correctly for this functionality to work properly.
+ * Paths are redrawn through the {@link UpdateScheduler}, at most once per frame however fast drag events arrive. Moving
+ * a whole path is one {@link Path#transform} edit instead, which updates the path once per drag event.
  */
 public class DragHandler {
   private final FieldDisplayController controller;
@@ -35,6 +38,7 @@ public class DragHandler {
   }
 
   private void finishDrag() {
+    UpdateScheduler.flush();
     SaveManager.getInstance().addChange(CurrentSelections.getCurPath());
     splineDragStarted = false;
   }
@@ -75,7 +79,7 @@ public class DragHandler {
     }
     if (controller.checkBounds(event.getX(), 0) || controller.checkBounds(0, -event.getY())) {
       path.recalculateTangents(point);
-      path.update();
+      UpdateScheduler.requestUpdate(path);
     }
     CurrentSelections.getCurPath().selectWaypoint(point);
   }
@@ -85,7 +89,11 @@ public class DragHandler {
     Point2D pt = new Point2D(event.getX(), -event.getY());
     wp.setTangent(pt.subtract(wp.getX(), wp.getY()));
     wp.lockTangentProperty().set(true);
-    path.update();
+    if (TangentSmoothing.isEnabled()) {
+      // The unlocked tangents are picked around this one
+      path.smoothTangents();
+    }
+    UpdateScheduler.requestUpdate(path);
   }
 
   private void handleSplineDrag(DragEvent event, Path path, Waypoint wp) {
@@ -103,26 +111,8 @@ public class DragHandler {
   }
 
   private void handlePathMoveDrag(DragEvent event, Path path, Waypoint point) {
-    double offsetX = event.getX() - point.getX();
-    double offsetY = event.getY() + point.getY();
-
-    // Make sure all waypoints will be within the bounds
-    for (Waypoint checkPoint : path.getWaypoints()) {
-      double wpNewX = checkPoint.getX() + offsetX;
-      double wpNewY = -checkPoint.getY() + offsetY;
-      if (!controller.checkBounds(wpNewX, -wpNewY)) {
-        return;
-      }
-    }
-
-    // Apply new positions
-    for (Waypoint changedPoint : path.getWaypoints()) {
-      double wpNewX = changedPoint.getX() + offsetX;
-      double wpNewY = changedPoint.getY() - offsetY;
-      changedPoint.setX(wpNewX);
-      changedPoint.setY(wpNewY);
-    }
-
-    path.update();
+    // Moves the dragged waypoint to the cursor, unless that would take part of the path off the field
+    PathTransform move = PathTransform.translation(event.getX() - point.getX(), -event.getY() - point.getY());
+    path.transform(move);
   }
 }
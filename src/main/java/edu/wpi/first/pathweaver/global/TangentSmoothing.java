@@ -0,0 +1,28 @@
+package edu.wpi.first.pathweaver.global;
+
+import edu.wpi.first.pathweaver.path.Path;
+import javafx.beans.property.SimpleBooleanProperty;
+
+/**
+ * The class holding the global state for whether unlocked tangents are picked for the whole path at once, using
+ * {@link Path#smoothTangents()}, instead of from each waypoint's neighbors.
+ */
+public final class TangentSmoothing {
+    private static SimpleBooleanProperty enabled = new SimpleBooleanProperty(false);
+
+    private TangentSmoothing() {
+        throw new UnsupportedOperationException("This class holds global state!");
+    }
+
+    public static boolean isEnabled() {
+        return enabled.get();
+    }
+
+    public static SimpleBooleanProperty enabledProperty() {
+        return enabled;
+    }
+
+    public static void setEnabled(boolean enabled) {
+        TangentSmoothing.enabled.set(enabled);
+    }
+}
@@ -0,0 +1,81 @@
+package edu.wpi.first.pathweaver.global;
+
+import edu.wpi.first.pathweaver.path.Path;
+import javafx.animation.AnimationTimer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.logging.Logger;
+
+/**
+ * The class holding the global state for paths waiting to be redrawn. Mouse drags can fire many more events than
+ * the screen can show, so instead of calling {@link Path#update()} for every event, drag handlers mark the path
+ * dirty here and it is updated once per JavaFX pulse, just before the frame is rendered.
+ *
+ * <p>Must only be used on the JavaFX application thread.
+ */
+public final class UpdateScheduler {
+    private static final Logger LOGGER = Logger.getLogger(UpdateScheduler.class.getName());
+
+    private static final Set<Path> DIRTY = Collections.newSetFromMap(new IdentityHashMap<>());
+    private static final AnimationTimer TIMER = new AnimationTimer() {
+        @Override
+        public void handle(long now) {
+            pulse();
+        }
+    };
+    private static boolean running = false;
+    private static long requests = 0;
+    private static long updates = 0;
+    private static long pulses = 0;
+
+    private UpdateScheduler() {
+        throw new UnsupportedOperationException("This class holds global state!");
+    }
+
+    /**
+     * Marks a path as needing an update. The path is updated on the next pulse, however many times this is called
+     * before then.
+     *
+     * @param path the path to update
+     */
+    public static void requestUpdate(Path path) {
+        requests++;
+        DIRTY.add(path);
+        if (!running) {
+            running = true;
+            TIMER.start();
+        }
+    }
+
+    /**
+     * Updates every dirty path now, instead of waiting for the next pulse.
+     */
+    public static void flush() {
+        List<Path> paths = new ArrayList<>(DIRTY);
+        DIRTY.clear();
+        for (Path path : paths) {
+            path.update();
+        }
+        updates += paths.size();
+    }
+
+    private static void pulse() {
+        if (DIRTY.isEmpty()) {
+            // Nothing changed for a whole pulse, so the drag is over or paused
+            TIMER.stop();
+            running = false;
+            LOGGER.fine(() -> String.format("Coalesced %d path update requests into %d updates over %d pulses",
+                    requests, updates, pulses));
+            requests = 0;
+            updates = 0;
+            pulses = 0;
+            return;
+        }
+        pulses++;
+        flush();
+    }
+}
@@ -0,0 +1,41 @@
+package edu.wpi.first.pathweaver.global;
+
+import javafx.beans.property.SimpleDoubleProperty;
+
+/**
+ * The class holding the global state for how large the field is drawn on screen, so drawing code can pick a level
+ * of detail without a reference to the field display.
+ */
+public final class ViewScale {
+    private static SimpleDoubleProperty pixelsPerUnit = new SimpleDoubleProperty(1.0);
+
+    private ViewScale() {
+        throw new UnsupportedOperationException("This class holds global state!");
+    }
+
+    /**
+     * Gets the number of screen pixels per path unit, including both the field image scale and the scale of the
+     * field display.
+     *
+     * @return the number of screen pixels per path unit
+     */
+    public static double getPixelsPerUnit() {
+        return pixelsPerUnit.get();
+    }
+
+    /**
+     * Converts a distance on screen to a tolerance in path units for sampling curves. The tolerance is rounded down
+     * to a power of two, so curves cached with it only need to be sampled again once the scale has roughly doubled
+     * or halved, not every time the window is resized.
+     *
+     * @param pixels the distance on screen, in pixels
+     * @return the distance in path units, rounded down to a power of two
+     */
+    public static double getTolerance(double pixels) {
+        return Math.scalb(1.0, Math.getExponent(pixels / getPixelsPerUnit()));
+    }
+
+    public static SimpleDoubleProperty pixelsPerUnitProperty() {
+        return pixelsPerUnit;
+    }
+}
@@ -8,18 +8,21 @@ import edu.wpi.first.pathweaver.Waypoint;
 import edu.wpi.first.pathweaver.global.CurrentSelections;
 import edu.wpi.first.pathweaver.spline.Spline;
 import edu.wpi.first.pathweaver.spline.SplineFactory;
+import javafx.beans.InvalidationListener;
 import javafx.collections.ObservableList;
 import javafx.css.PseudoClass;
 import javafx.geometry.Point2D;
 import javafx.scene.Group;
 import javafx.scene.control.Alert;
-import javafx.scene.layout.Pane;
 
 import javax.measure.Unit;
 import javax.measure.quantity.Length;
 import java.util.ArrayList;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 
 /**
  *
@@ -48,10 +51,18 @@ public abstract class Path {
     protected static final double DEFAULT_SPLINE_SCALE = 6;
     protected static final double DEFAULT_CIRCLE_SCALE = .75;
     protected static final double DEFAULT_LINE_SCALE = 4;
+    private static final double SEGMENT_INDEX_CELL_SIZE = 1;
 
     protected final Field field = ProjectPreferences.getInstance().getField();
     protected final ObservableList<Waypoint> waypoints = new ObservableListWrapper<>(new ArrayList<>());
     protected Group mainGroup = new Group();
+    protected final SegmentIndex segmentIndex = new SegmentIndex(SEGMENT_INDEX_CELL_SIZE);
+    // Rebuilt on the first lookup after the list changes, so dragging only ever reads it
+    private final Map<Waypoint, Integer> waypointIndices = new IdentityHashMap<>();
+    private boolean waypointIndicesStale = true;
+    private int editDepth = 0;
+    private double[] packedPoints = new double[0];
+    private double[] packedTangents = new double[0];
 
     protected final Spline spline;
     protected final String pathName;
@@ -65,12 +76,33 @@ public abstract class Path {
     protected Path(SplineFactory splineFactory, String pathName) {
         this.spline = splineFactory.makeSpline(waypoints, this);
         this.pathName = Objects.requireNonNull(pathName);
+        // Added before any subclass listener, so those can look up indices of the new waypoints
+        this.waypoints.addListener((InvalidationListener) observable -> waypointIndicesStale = true);
     }
 
     public List<Waypoint> getWaypoints() {
         return waypoints;
     }
 
+    /**
+     * Finds the index of a waypoint in this path. Unlike {@code getWaypoints().indexOf()}, this compares waypoints by
+     * identity, and takes constant time unless the waypoints were added or removed since the last lookup.
+     *
+     * @param waypoint the waypoint to find
+     * @return the index of the waypoint, or -1 if it is not in this path
+     */
+    public int indexOf(Waypoint waypoint) {
+        if (waypointIndicesStale) {
+            waypointIndices.clear();
+            for (int i = 0; i < waypoints.size(); i++) {
+                waypointIndices.put(waypoints.get(i), i);
+            }
+            waypointIndicesStale = false;
+        }
+        Integer index = waypointIndices.get(waypoint);
+        return index == null ? -1 : index;
+    }
+
     /**
      * Duplicates the current path, returning a new Path with no shared state.
      * Implementors are highly encouraged to return Self with this method in order
@@ -87,16 +119,56 @@ public abstract class Path {
      * @param to   Unit to convert to.
      */
     public final void convertUnit(Unit<Length> from, Unit<Length> to) {
-        for (Waypoint wp : waypoints) {
-            wp.convertUnit(from, to);
-        }
+        edit(() -> {
+            for (Waypoint wp : waypoints) {
+                wp.convertUnit(from, to);
+            }
+        });
     }
 
     /**
-     * Updates this path to reflect new waypoint data.
+     * Updates this path to reflect new waypoint data. Does nothing while an edit is open, since the path is updated
+     * when the edit is committed.
      */
     public void update() {
-        spline.update();
+        if (editDepth == 0) {
+            spline.update();
+        }
+    }
+
+    /**
+     * Starts an edit of this path. Until the matching {@link #commit()}, calls to {@link #update()} are ignored, so
+     * changing many waypoints or properties only rebuilds the spline once. Edits can be nested.
+     */
+    public final void beginEdit() {
+        editDepth++;
+    }
+
+    /**
+     * Ends an edit started by {@link #beginEdit()}. Committing the outermost edit updates this path.
+     *
+     * @throws IllegalStateException if no edit is open
+     */
+    public final void commit() {
+        if (editDepth == 0) {
+            throw new IllegalStateException("No edit of " + pathName + " to commit");
+        }
+        editDepth--;
+        update();
+    }
+
+    /**
+     * Makes changes to this path in a single edit, which is committed even if the changes throw.
+     *
+     * @param changes the changes to make
+     */
+    public final void edit(Runnable changes) {
+        beginEdit();
+        try {
+            changes.run();
+        } finally {
+            commit();
+        }
     }
 
     public final Waypoint getStart() {
@@ -115,6 +187,30 @@ public abstract class Path {
         return mainGroup;
     }
 
+    /**
+     * Gets the index of the drawn segments of this path. Each segment is keyed by the index of the waypoint it starts
+     * at, and its points are in the coordinates of the main group. The spline keeps it up to date as it draws the
+     * segments.
+     *
+     * @return the index of the drawn segments
+     */
+    public final SegmentIndex getSegmentIndex() {
+        return segmentIndex;
+    }
+
+    /**
+     * Finds the drawn segment closest to a point.
+     *
+     * @param x           the x coordinate of the point, in the coordinates of the main group
+     * @param y           the y coordinate of the point, in the coordinates of the main group
+     * @param maxDistance how far from the point to look
+     * @return the closest point, whose segment is the index of the waypoint the segment starts at, or empty if no
+     *         segment is close enough
+     */
+    public Optional<SegmentIndex.Hit> segmentAt(double x, double y, double maxDistance) {
+        return segmentIndex.nearest(x, y, maxDistance);
+    }
+
     public final String getPathName() {
         return pathName;
     }
@@ -134,14 +230,14 @@ public abstract class Path {
     }
 
     public Waypoint addWaypoint(Point2D coordinates, Waypoint start, Waypoint end) {
-        for (int i = 1; i < waypoints.size(); i++) {
-            if (waypoints.get(i - 1).equals(start) && waypoints.get(i).equals(end)) {
-                Waypoint toAdd = new Waypoint(coordinates, new Point2D(0, 0), false, start.isReversed());
-                waypoints.add(i, toAdd);
+        // The endpoints are the waypoints of a drawn segment, so they can be found without comparing every field
+        int i = indexOf(start) + 1;
+        if (i > 0 && i < waypoints.size() && waypoints.get(i) == end) {
+            Waypoint toAdd = new Waypoint(coordinates, new Point2D(0, 0), false, start.isReversed());
+            waypoints.add(i, toAdd);
 
-                updateTangent(toAdd);
-                return toAdd;
-            }
+            updateTangent(toAdd);
+            return toAdd;
         }
         throw new AssertionError("Endpoints provided are invalid segment");
     }
@@ -152,7 +248,7 @@ public abstract class Path {
      * @param wp the waypoint to recalculate tangents for
      */
     public void recalculateTangents(Waypoint wp) {
-        int curWpIndex = getWaypoints().indexOf(wp);
+        int curWpIndex = indexOf(wp);
 
         if (curWpIndex - 1 > 0) {
             Waypoint previous = getWaypoints().get(curWpIndex - 1);
@@ -175,6 +271,12 @@ public abstract class Path {
      */
     protected abstract void updateTangent(Waypoint wp);
 
+    /**
+     * Recomputes the tangent lines of every unlocked waypoint at once, so the whole path is as smooth as possible.
+     * Implementors are free to make this function a no-op.
+     */
+    public abstract void smoothTangents();
+
     public void enableSubchildSelector(int i) {
         this.subchildIdx = i;
         for (Waypoint wp : waypoints) {
@@ -233,61 +335,75 @@ public abstract class Path {
      * @return whether the remove succeeded or not
      */
     public boolean removeWaypoint(Waypoint waypoint) {
-        if (waypoints.size() > 2) {
-            return waypoints.remove(waypoint);
+        int index = indexOf(waypoint);
+        if (waypoints.size() > 2 && index >= 0) {
+            waypoints.remove(index);
+            return true;
         }
         return false;
     }
 
     /**
-     * Reflects the Path across an axis.
-     * The coordinate system's origin is the starting point of the Path.
+     * Moves, turns, mirrors or scales every waypoint and tangent of this path at once, then updates it. The waypoints
+     * are changed in one {@link #edit(Runnable)}, each with a single {@link Waypoint#set}, so the path is updated once
+     * and each waypoint redraws its icon and tangent line once.
      *
-     * @param horizontal Flip over horizontal axis?
-     * @param drawPane   Pane to check validity of new points.
+     * @param transform the transform to apply
+     * @return true if the path was transformed, false if a waypoint would leave the field, in which case nothing
+     *         changes
      */
-    public void flip(boolean horizontal, Pane drawPane) {
-        // Check if any new points are outside drawPane
-        for (Waypoint wp : waypoints) {
-            if (!drawPane.contains(reflectPoint(getStart(), wp, horizontal, false))) {
-                Alert a = new Alert(Alert.AlertType.INFORMATION);
-                FxUtils.applyDarkMode(a);
-                a.setTitle("");
-                a.setHeaderText("The path could not be flipped.");
-                a.setContentText("Flipping this path would cause it to go out of bounds");
-                a.showAndWait();
-                return; // The new path is invalid
-            }
+    public boolean transform(PathTransform transform) {
+        int count = waypoints.size();
+        if (packedPoints.length < 2 * count) {
+            packedPoints = new double[2 * count];
+            packedTangents = new double[2 * count];
         }
-        // New waypoints are valid, update all Waypoints
-        for (Waypoint wp : waypoints) {
-            Point2D reflectedPos = reflectPoint(getStart(), wp, horizontal, false);
-            Point2D reflectedTangent = reflectPoint(getStart(), wp, horizontal, true);
-            wp.setX(reflectedPos.getX());
-            wp.setY(reflectedPos.getY());
-            wp.setTangent(reflectedTangent);
+        for (int i = 0; i < count; i++) {
+            Waypoint wp = waypoints.get(i);
+            packedPoints[2 * i] = wp.getX();
+            packedPoints[2 * i + 1] = wp.getY();
+            packedTangents[2 * i] = wp.getTangentX();
+            packedTangents[2 * i + 1] = wp.getTangentY();
         }
-    }
+        transform.apply(packedPoints, count);
 
-    private Point2D reflectPoint(Waypoint start, Waypoint point, boolean horizontal, boolean tangent) {
-        Point2D coords;
-        Point2D minus;
-        if (tangent) {
-            coords = point.getTangent();
-            if (horizontal) {
-                minus = new Point2D(coords.getX() * 2.0, 0.0);
-            } else {
-                minus = new Point2D(0.0, coords.getY() * 2.0);
+        // The field spans from the origin to the right and down, like the draw pane
+        double width = field.getRealWidth().getValue().doubleValue();
+        double length = field.getRealLength().getValue().doubleValue();
+        for (int i = 0; i < 2 * count; i += 2) {
+            double x = packedPoints[i];
+            double y = packedPoints[i + 1];
+            if (!(x >= 0 && x <= width && y <= 0 && y >= -length)) {
+                return false;
             }
-            return coords.subtract(minus);
-        } else {
-            coords = point.getCoords();
-            if (horizontal) {
-                minus = new Point2D(point.relativeTo(start).getX() * 2.0, 0.0);
-            } else {
-                minus = new Point2D(0.0, point.relativeTo(start).getY() * 2.0);
+        }
+        transform.applyToVectors(packedTangents, count);
+
+        edit(() -> {
+            for (int i = 0; i < count; i++) {
+                waypoints.get(i).set(packedPoints[2 * i], packedPoints[2 * i + 1],
+                        packedTangents[2 * i], packedTangents[2 * i + 1]);
             }
-            return coords.subtract(minus);
+        });
+        return true;
+    }
+
+    /**
+     * Reflects the Path across an axis.
+     * The coordinate system's origin is the starting point of the Path.
+     *
+     * @param horizontal Flip over horizontal axis?
+     */
+    public void flip(boolean horizontal) {
+        PathTransform reflection = horizontal ? PathTransform.mirrorX(getStart().getX())
+                : PathTransform.mirrorY(getStart().getY());
+        if (!transform(reflection)) {
+            Alert a = new Alert(Alert.AlertType.INFORMATION);
+            FxUtils.applyDarkMode(a);
+            a.setTitle("");
+            a.setHeaderText("The path could not be flipped.");
+            a.setContentText("Flipping this path would cause it to go out of bounds");
+            a.showAndWait();
         }
     }
 }
@@ -0,0 +1,255 @@
+package edu.wpi.first.pathweaver.path;
+
+import edu.wpi.first.pathweaver.Field;
+import edu.wpi.first.pathweaver.FxUtils;
+import edu.wpi.first.pathweaver.global.ViewScale;
+import javafx.geometry.Point2D;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.layout.Pane;
+import javafx.scene.paint.Color;
+import javafx.scene.paint.Paint;
+import javafx.scene.shape.Polyline;
+import javafx.scene.shape.StrokeLineCap;
+import javafx.scene.shape.StrokeLineJoin;
+import javafx.scene.transform.Affine;
+import javafx.scene.transform.NonInvertibleTransformException;
+import javafx.scene.transform.Transform;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Draws read-only paths onto a {@link Canvas} in one pass, for showing every path of an autonomous routine without
+ * creating scene graph nodes for each of their segments and waypoints. Only the path being edited needs to be a
+ * full {@link Path}; the others can be {@link #take(String, Function) taken} out of the overview when they are
+ * clicked.
+ *
+ * <p>Paths are drawn in the coordinates of the pane that holds the interactive paths, so the two line up at any
+ * zoom, and with the same colors as the interactive paths, which are looked up from the style sheet.
+ */
+public class PathOverview {
+    /**
+     * How close to a drawn path a click has to be to hit it, in screen pixels.
+     */
+    public static final double HIT_PIXELS = 6;
+    private static final double TOLERANCE_PIXELS = 0.25;
+    private static final double INDEX_CELL_SIZE = 1;
+
+    private final Canvas canvas;
+    private final Pane pathPane;
+    private final double lineWidth;
+    private final Polyline colorProbe = new Polyline();
+    private final Map<Integer, Paint> colors = new HashMap<>();
+    private final List<Entry> entries = new ArrayList<>();
+    private final SegmentIndex index = new SegmentIndex(INDEX_CELL_SIZE);
+    private int nextKey = 0;
+
+    /**
+     * Creates an overview that draws onto a canvas.
+     *
+     * @param canvas   the canvas to draw onto, which should cover the pane and not take mouse events
+     * @param pathPane the pane holding the interactive paths
+     * @param field    the field the paths are on
+     */
+    public PathOverview(Canvas canvas, Pane pathPane, Field field) {
+        this.canvas = canvas;
+        this.pathPane = pathPane;
+        this.lineWidth = Path.DEFAULT_SPLINE_SCALE / field.getScale();
+
+        colorProbe.getStyleClass().add("path");
+        colorProbe.setVisible(false);
+        colorProbe.setManaged(false);
+        pathPane.getChildren().add(colorProbe);
+    }
+
+    /**
+     * A path in the overview.
+     */
+    private static final class Entry {
+        private final int key;
+        private final String pathName;
+        private final List<ControlPoint> points;
+        private final int colorIndex;
+        private final Path path;
+        private double[] xs = new double[0];
+        private double[] ys = new double[0];
+        private int size;
+        private double tolerance;
+
+        private Entry(int key, String pathName, List<ControlPoint> points, int colorIndex, Path path) {
+            this.key = key;
+            this.pathName = pathName;
+            this.points = List.copyOf(points);
+            this.colorIndex = colorIndex;
+            this.path = path;
+        }
+
+        /**
+         * Samples the path again if the tolerance changed.
+         *
+         * @return true if the path was sampled again
+         */
+        private boolean sample(double newTolerance) {
+            if (newTolerance == tolerance) {
+                return false;
+            }
+            size = 0;
+            for (int i = 1; i < points.size(); i++) {
+                if (i > 1) {
+                    // The first point of a segment is the last point of the one before it
+                    size--;
+                }
+                SplineSampler.sample(SplineSampler.segment(points.get(i - 1), points.get(i)), newTolerance,
+                        (x, y) -> add(x, -y));
+            }
+            tolerance = newTolerance;
+            return true;
+        }
+
+        private void add(double x, double y) {
+            if (size == xs.length) {
+                xs = Arrays.copyOf(xs, Math.max(64, size * 2));
+                ys = Arrays.copyOf(ys, xs.length);
+            }
+            xs[size] = x;
+            ys[size] = y;
+            size++;
+        }
+    }
+
+    /**
+     * Adds a path that has not been loaded as a {@link Path}.
+     *
+     * @param pathName   the name of the path file
+     * @param points     the control points of the path
+     * @param colorIndex the index of the subchild color to draw the path with
+     */
+    public void add(String pathName, List<ControlPoint> points, int colorIndex) {
+        entries.add(new Entry(nextKey++, pathName, points, colorIndex, null));
+        redraw();
+    }
+
+    /**
+     * Adds a path that was being edited. The path is kept, so it can be edited again without losing unsaved changes.
+     *
+     * @param path the path to add
+     */
+    public void add(Path path) {
+        List<ControlPoint> points = new ArrayList<>(path.getWaypoints().size());
+        path.getWaypoints().forEach(waypoint -> points.add(waypoint.toControlPoint()));
+        entries.add(new Entry(nextKey++, path.getPathName(), points, path.subchildIdx, path));
+        redraw();
+    }
+
+    /**
+     * Removes a path from the overview so it can be edited.
+     *
+     * @param pathName the name of the path file
+     * @param loader   loads the path if it was never loaded as a {@link Path}, returning null if it could not be
+     * @return the path, or empty if it is not in the overview or could not be loaded
+     */
+    public Optional<Path> take(String pathName, Function<String, Path> loader) {
+        for (Iterator<Entry> iterator = entries.iterator(); iterator.hasNext(); ) {
+            Entry entry = iterator.next();
+            if (entry.pathName.equals(pathName)) {
+                iterator.remove();
+                index.remove(entry.key);
+                redraw();
+                if (entry.path != null) {
+                    return Optional.of(entry.path);
+                }
+                Path path = loader.apply(pathName);
+                if (path != null) {
+                    path.enableSubchildSelector(entry.colorIndex);
+                }
+                return Optional.ofNullable(path);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Removes every path from the overview.
+     */
+    public void clear() {
+        entries.clear();
+        index.clear();
+        redraw();
+    }
+
+    /**
+     * Finds the path drawn closest to a point on screen, if any is within a few pixels of it.
+     *
+     * @param sceneX the x coordinate of the point in the scene
+     * @param sceneY the y coordinate of the point in the scene
+     * @return the name of the path file
+     */
+    public Optional<String> pathAt(double sceneX, double sceneY) {
+        Point2D point = pathPane.sceneToLocal(sceneX, sceneY);
+        return index.nearest(point.getX(), point.getY(), HIT_PIXELS / ViewScale.getPixelsPerUnit())
+                .flatMap(hit -> entries.stream().filter(entry -> entry.key == hit.getSegment()).findFirst())
+                .map(entry -> entry.pathName);
+    }
+
+    /**
+     * Draws every path in the overview again. This should be called whenever the pane or the canvas move or resize.
+     */
+    public void redraw() {
+        GraphicsContext gc = canvas.getGraphicsContext2D();
+        gc.setTransform(new Affine());
+        gc.clearRect(0, 0, canvas.getWidth(), canvas.getHeight());
+        Transform toCanvas;
+        try {
+            toCanvas = canvas.getLocalToSceneTransform().createInverse()
+                    .createConcatenation(pathPane.getLocalToSceneTransform());
+        } catch (NonInvertibleTransformException e) {
+            // The canvas has been scaled to nothing, so there is nowhere to draw
+            return;
+        }
+        if (entries.isEmpty()) {
+            return;
+        }
+        gc.setTransform(new Affine(toCanvas));
+        gc.setLineWidth(lineWidth);
+        gc.setLineCap(StrokeLineCap.ROUND);
+        gc.setLineJoin(StrokeLineJoin.ROUND);
+
+        double tolerance = ViewScale.getTolerance(TOLERANCE_PIXELS);
+        for (Entry entry : entries) {
+            if (entry.points.isEmpty()) {
+                continue;
+            }
+            if (entry.sample(tolerance)) {
+                index.put(entry.key, entry.xs, entry.ys, entry.size);
+            }
+            Paint color = color(entry.colorIndex);
+            gc.setStroke(color);
+            gc.setLineDashes(entry.points.get(0).isReversed() ? new double[] {0.1, 0.2} : null);
+            gc.strokePolyline(entry.xs, entry.ys, entry.size);
+
+            gc.setFill(color);
+            for (ControlPoint point : entry.points) {
+                gc.fillOval(point.getX() - lineWidth, -point.getY() - lineWidth, 2 * lineWidth, 2 * lineWidth);
+            }
+        }
+    }
+
+    private Paint color(int colorIndex) {
+        if (colorProbe.getScene() == null) {
+            // Style sheets only apply to nodes in a scene
+            return Color.GRAY;
+        }
+        return colors.computeIfAbsent(colorIndex, index -> {
+            FxUtils.enableSubchildSelector(colorProbe, index);
+            colorProbe.applyCss();
+            return colorProbe.getStroke();
+        });
+    }
+}
@@ -2,9 +2,12 @@ package edu.wpi.first.pathweaver.path.wpilib;
 
 import edu.wpi.first.pathweaver.*;
 import edu.wpi.first.pathweaver.global.CurrentSelections;
+import edu.wpi.first.pathweaver.global.TangentSmoothing;
 import edu.wpi.first.pathweaver.path.Path;
-import edu.wpi.first.pathweaver.path.PathUtil;
+import edu.wpi.first.pathweaver.path.TangentOptimizer;
+import edu.wpi.first.pathweaver.path.TangentSolver;
 import edu.wpi.first.pathweaver.spline.wpilib.WpilibSpline;
+import javafx.beans.value.ChangeListener;
 import javafx.collections.ListChangeListener;
 import javafx.geometry.Point2D;
 import javafx.scene.Group;
@@ -23,6 +26,19 @@ import java.util.stream.Collectors;
 public class WpilibPath extends Path {
     private final Group iconGroup = new Group();
     private final Group tangentGroup = new Group();
+    private final double[] tangent = new double[2];
+    private final double[] windowX = new double[5];
+    private final double[] windowY = new double[5];
+    private final double[] windowTangentX = new double[5];
+    private final double[] windowTangentY = new double[5];
+    private final TangentSolver solver = new TangentSolver(TangentSolver.Objective.CURVATURE);
+    private double[] pathX = new double[0];
+    private double[] pathY = new double[0];
+    private double[] pathTangentX = new double[0];
+    private double[] pathTangentY = new double[0];
+    private boolean[] pathLocked = new boolean[0];
+    private final ChangeListener<Boolean> reversedListener = (observable, oldValue, newValue) -> setReversed(newValue);
+    private boolean reversing = false;
 
     /**
      * Path constructor based on a known list of points.
@@ -40,26 +56,23 @@ public class WpilibPath extends Path {
                     setupWaypoint(wp);
                     iconGroup.getChildren().add(wp.getIcon());
                     tangentGroup.getChildren().add(wp.getTangentLine());
-                    if (wp != first) {
-                        wp.reversedProperty().bindBidirectional(first.reversedProperty());
-                    }
-                    wp.reversedProperty().addListener(l -> {
-                        update();
-                    });
+                    // Set before listening, so joining the path does not reverse the others
+                    wp.setReversed(first.isReversed());
+                    wp.reversedProperty().addListener(reversedListener);
                 }
 
                 for (Waypoint wp : c.getRemoved()) {
                     iconGroup.getChildren().remove(wp.getIcon());
                     tangentGroup.getChildren().remove(wp.getTangentLine());
+                    wp.reversedProperty().removeListener(reversedListener);
                 }
             }
             update();
         });
         this.spline.addToGroup(this.mainGroup, DEFAULT_SPLINE_SCALE / field.getScale());
         this.mainGroup.getChildren().addAll(this.iconGroup, this.tangentGroup);
-        this.waypoints.addAll(points);
+        edit(() -> this.waypoints.addAll(points));
 
-        update();
         enableSubchildSelector(subchildIdx);
     }
 
@@ -101,13 +114,17 @@ public class WpilibPath extends Path {
     }
 
     /**
-     * This implementation calls {@link PathUtil#rawThetaOptimization(Point2D, Point2D, Point2D)} to update the tangent line.
-     * 
+     * This implementation calls {@link TangentOptimizer#optimalTangent} to update the tangent line.
+     *
      * @param wp the waypoint to update the tangent line for.
      */
     @Override
     protected void updateTangent(Waypoint wp) {
-        int curWpIndex = getWaypoints().indexOf(wp);
+        if (TangentSmoothing.isEnabled()) {
+            smoothTangents();
+            return;
+        }
+        int curWpIndex = indexOf(wp);
         if (curWpIndex - 1 < 0 || curWpIndex + 1 >= waypoints.size() || wp.isLockTangent()) {
             return;
         }
@@ -115,11 +132,107 @@ public class WpilibPath extends Path {
         Waypoint previous = getWaypoints().get(curWpIndex - 1);
         Waypoint next = getWaypoints().get(curWpIndex + 1);
 
-        Point2D wpTangent = PathUtil.rawThetaOptimization(previous.getCoords(), wp.getCoords(), next.getCoords());
+        TangentOptimizer.optimalTangent(previous.getX(), previous.getY(), wp.getX(), wp.getY(),
+                next.getX(), next.getY(), tangent);
+        setTangent(wp, tangent[0], tangent[1]);
+    }
+
+    /**
+     * This implementation optimizes the tangents of the waypoint and its neighbors in one
+     * {@link TangentOptimizer#optimalTangents} pass, since this is called for every drag event.
+     *
+     * @param wp the waypoint to recalculate tangents for
+     */
+    @Override
+    public void recalculateTangents(Waypoint wp) {
+        if (TangentSmoothing.isEnabled()) {
+            smoothTangents();
+            return;
+        }
+        int curWpIndex = indexOf(wp);
+        if (curWpIndex < 0) {
+            return;
+        }
+        // The neighbors' tangents depend on the waypoints two away from this one
+        int from = Math.max(curWpIndex - 2, 0);
+        int to = Math.min(curWpIndex + 2, waypoints.size() - 1);
+        int count = to - from + 1;
+        for (int i = 0; i < count; i++) {
+            Waypoint point = waypoints.get(from + i);
+            windowX[i] = point.getX();
+            windowY[i] = point.getY();
+        }
+        TangentOptimizer.optimalTangents(windowX, windowY, count, windowTangentX, windowTangentY);
+
+        for (int i = 1; i < count - 1; i++) {
+            int index = from + i;
+            Waypoint point = waypoints.get(index);
+            if (Math.abs(index - curWpIndex) <= 1 && !point.isLockTangent()) {
+                setTangent(point, windowTangentX[i], windowTangentY[i]);
+            }
+        }
+    }
+
+    /**
+     * This implementation uses a {@link TangentSolver} to minimize the curvature of the whole path.
+     */
+    @Override
+    public void smoothTangents() {
+        int count = waypoints.size();
+        if (pathX.length < count) {
+            pathX = new double[count];
+            pathY = new double[count];
+            pathTangentX = new double[count];
+            pathTangentY = new double[count];
+            pathLocked = new boolean[count];
+        }
+        for (int i = 0; i < count; i++) {
+            Waypoint point = waypoints.get(i);
+            pathX[i] = point.getX();
+            pathY[i] = point.getY();
+            // The solver works on forward tangents
+            pathTangentX[i] = point.isReversed() ? -point.getTangentX() : point.getTangentX();
+            pathTangentY[i] = point.isReversed() ? -point.getTangentY() : point.getTangentY();
+            pathLocked[i] = point.isLockTangent();
+        }
+        solver.solve(pathX, pathY, pathLocked, count, pathTangentX, pathTangentY);
+
+        for (int i = 0; i < count; i++) {
+            if (!pathLocked[i]) {
+                setTangent(waypoints.get(i), pathTangentX[i], pathTangentY[i]);
+            }
+        }
+    }
+
+    /**
+     * Every waypoint of a path drives in the same direction, so reversing one reverses all of them in one edit,
+     * instead of each waypoint updating the path as it is reversed.
+     */
+    private void setReversed(boolean reversed) {
+        if (reversing) {
+            // Reversing the others notifies this listener again
+            return;
+        }
+        reversing = true;
+        try {
+            edit(() -> {
+                for (Waypoint point : waypoints) {
+                    point.setReversed(reversed);
+                }
+            });
+        } finally {
+            reversing = false;
+        }
+    }
+
+    private static void setTangent(Waypoint wp, double tangentX, double tangentY) {
         if (wp.isReversed()) {
-            wpTangent = wpTangent.multiply(-1);
+            wp.setTangentX(-tangentX);
+            wp.setTangentY(-tangentY);
+        } else {
+            wp.setTangentX(tangentX);
+            wp.setTangentY(tangentY);
         }
-        wp.setTangent(wpTangent);
     }
 
     private void setupWaypoint(Waypoint waypoint) {
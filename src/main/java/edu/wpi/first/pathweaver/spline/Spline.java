@@ -3,8 +3,6 @@ package edu.wpi.first.pathweaver.spline;
 import edu.wpi.first.pathweaver.global.CurrentSelections;
 import javafx.scene.Group;
 
-import java.nio.file.Path;
-
 /**
  * This interface represents a Spline - the function that describes the path
  * the robot will take when travelling across the field. This class is designed for use with
@@ -30,7 +28,7 @@ import java.nio.file.Path;
  * </ul>
  *
  * @see CurrentSelections
- * @see Path
+ * @see edu.wpi.first.pathweaver.path.Path
  * @see edu.wpi.first.pathweaver.path.wpilib.WpilibPath
  * @see SplineSegment
  */
@@ -56,11 +54,4 @@ public interface Spline {
    * @param splineGroup the group to remove this spline from
    */
   void removeFromGroup(Group splineGroup);
-
-  /**
-   * Serialize this path to a file for use in the robot.
-   * @param path the path of the file to write to
-   * @return whether the write succeeded
-   */
-  boolean writeToFile(Path path);
 }
@@ -1,51 +1,77 @@
 package edu.wpi.first.pathweaver.spline.wpilib;
 
-import edu.wpi.first.math.geometry.Pose2d;
-import edu.wpi.first.math.kinematics.DifferentialDriveKinematics;
-import edu.wpi.first.math.spline.PoseWithCurvature;
-import edu.wpi.first.math.spline.QuinticHermiteSpline;
-import edu.wpi.first.math.spline.Spline;
-import edu.wpi.first.math.trajectory.Trajectory;
-import edu.wpi.first.math.trajectory.TrajectoryConfig;
-import edu.wpi.first.math.trajectory.TrajectoryGenerator;
-import edu.wpi.first.math.trajectory.TrajectoryUtil;
 import edu.wpi.first.pathweaver.FxUtils;
-import edu.wpi.first.pathweaver.PathUnits;
-import edu.wpi.first.pathweaver.ProjectPreferences;
 import edu.wpi.first.pathweaver.Waypoint;
+import edu.wpi.first.pathweaver.global.ViewScale;
+import edu.wpi.first.pathweaver.path.ControlPoint;
 import edu.wpi.first.pathweaver.path.Path;
+import edu.wpi.first.pathweaver.path.SplineSampler;
 import edu.wpi.first.pathweaver.spline.AbstractSpline;
 import edu.wpi.first.pathweaver.spline.SplineSegment;
+import javafx.application.Platform;
+import javafx.beans.InvalidationListener;
+import javafx.beans.WeakInvalidationListener;
 import javafx.beans.property.SimpleDoubleProperty;
 import javafx.scene.Group;
 import javafx.scene.Node;
+import javafx.scene.shape.Polyline;
 
-import javax.measure.UnitConverter;
-
-import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
 import java.util.List;
-import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.logging.Level;
-import java.util.logging.Logger;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
  * A WpilibSpline interfaces with Wpilib to
  * calculate splines.
  */
 public class WpilibSpline extends AbstractSpline {
-    private static final Logger LOGGER = Logger.getLogger(WpilibSpline.class.getName());
+    /**
+     * How far the drawn line may be from the spline, in screen pixels.
+     */
+    private static final double TOLERANCE_PIXELS = 0.25;
+    private static final ExecutorService SAMPLER = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "Spline sampler");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private static volatile Executor defaultSampler = SAMPLER;
+    private static volatile Executor defaultApplier = Platform::runLater;
 
     private final SimpleDoubleProperty strokeWidth = new SimpleDoubleProperty(1.0);
+    private final List<DrawnSegment> segments = new ArrayList<>();
+    private final Deque<DrawnSegment> spares = new ArrayDeque<>();
+    private final Executor sampler;
+    private final Executor applier;
+    private boolean sampling = false;
+    // Kept in a field so the weak listener on the global view scale lives as long as this spline
+    private final InvalidationListener viewScaleListener = observable -> update();
     private int subchildIdx = 0;
 
     private final Path path;
 
+    /**
+     * Colors the lines with the subchild pseudo class at the given index. The pseudo classes only change if the index
+     * does, and the lines are restyled in the next CSS pass instead of forcing one here.
+     *
+     * @param i the index of the subchild pseudo class
+     */
     @Override
     public void enableSubchildSelector(int i) {
+        if (i == subchildIdx) {
+            return;
+        }
         this.subchildIdx = i;
         for (Node node : group.getChildren()) {
             FxUtils.enableSubchildSelector(node, subchildIdx);
-            node.applyCss();
+        }
+        for (DrawnSegment spare : spares) {
+            FxUtils.enableSubchildSelector(spare.segment.getLine(), subchildIdx);
         }
     }
 
@@ -55,45 +81,139 @@ public class WpilibSpline extends AbstractSpline {
     }
 
     public WpilibSpline(List<Waypoint> waypoints, Path path) {
+        this(waypoints, path, defaultSampler, defaultApplier);
+    }
+
+    /**
+     * Creates a spline that samples its segments with one executor and draws them with another.
+     *
+     * @param waypoints the waypoints of the path
+     * @param path      the path, whose segment index is kept up to date with the drawn segments
+     * @param sampler   runs the sampling, off the JavaFX thread
+     * @param applier   runs the drawing of sampled segments, on the JavaFX thread
+     */
+    public WpilibSpline(List<Waypoint> waypoints, Path path, Executor sampler, Executor applier) {
         super(waypoints);
         this.path = path;
+        this.sampler = sampler;
+        this.applier = applier;
+        ViewScale.pixelsPerUnitProperty().addListener(new WeakInvalidationListener(viewScaleListener));
+    }
+
+    /**
+     * Sets the executors of the splines created from now on, such as those of a new
+     * {@link edu.wpi.first.pathweaver.path.wpilib.WpilibPath}. By default segments are sampled on a shared background
+     * thread and drawn with {@link Platform#runLater(Runnable)}. Tests without a JavaFX toolkit pass
+     * {@code Runnable::run} for both, so every update is drawn before it returns.
+     *
+     * @param sampler runs the sampling
+     * @param applier runs the drawing of sampled segments, on the thread that updates the spline
+     */
+    public static void setExecutors(Executor sampler, Executor applier) {
+        defaultSampler = sampler;
+        defaultApplier = applier;
     }
 
+    /**
+     * Brings the drawn segments up to date with the waypoints. Segments are kept between updates and a segment is
+     * only sampled again if one of its waypoints moved, changed tangent or was reversed, so dragging a waypoint only
+     * redraws the segments next to it and its neighbours. Waypoints are read once into {@link ControlPoint}s, which
+     * the segments keep to tell whether they are stale.
+     *
+     * <p>Segments are sampled with {@link SplineSampler} to within a fraction of a pixel at the current
+     * {@link ViewScale}, so they are sampled again when the field display is zoomed far enough.
+     *
+     * <p>Sampling runs on a background thread and the new points are applied to every stale segment, and to the path's
+     * {@link edu.wpi.first.pathweaver.path.SegmentIndex}, at once on the JavaFX thread. Only one job runs at a time:
+     * updates made while it runs only record what each segment should show. The finished job is always drawn, so a
+     * continuous drag keeps redrawing, and then the segments that changed in the meantime are sampled in the next job.
+     */
     @Override
     public void update() {
-        group.getChildren().clear();
-        for (int i = 1; i < waypoints.size(); i++) {
-            Waypoint segStart = waypoints.get(i - 1).copy();
-            Waypoint segEnd = waypoints.get(i).copy();
-            QuinticHermiteSpline quintic;
-
-            if (segStart.isReversed()) {
-                quintic = getQuinticSplinesFromWaypoints(new Waypoint[]{segEnd, segStart})[0];
-            }
-            else {
-                quintic = getQuinticSplinesFromWaypoints(new Waypoint[]{segStart, segEnd})[0];
+        int segmentCount = Math.max(waypoints.size() - 1, 0);
+        while (segments.size() > segmentCount) {
+            DrawnSegment removed = segments.remove(segments.size() - 1);
+            group.getChildren().remove(removed.segment.getLine());
+            // Cleared so the old line does not flash up when the segment is reused, before it is sampled again
+            removed.segment.getLine().getPoints().clear();
+            removed.forget();
+            spares.push(removed);
+            path.getSegmentIndex().remove(segments.size());
+        }
+        if (segmentCount == 0) {
+            return;
+        }
+        double tolerance = ViewScale.getTolerance(TOLERANCE_PIXELS);
+        ControlPoint start = waypoints.get(0).toControlPoint();
+        for (int i = 0; i < segmentCount; i++) {
+            Waypoint segStart = waypoints.get(i);
+            Waypoint segEnd = waypoints.get(i + 1);
+            ControlPoint end = segEnd.toControlPoint();
+            if (i == segments.size()) {
+                DrawnSegment added = spares.isEmpty() ? createSegment(segStart, segEnd) : spares.pop();
+                group.getChildren().add(added.segment.getLine());
+                segments.add(added);
             }
-            SplineSegment seg = new SplineSegment(waypoints.get(i-1), waypoints.get(i), path);
+            DrawnSegment drawn = segments.get(i);
+            drawn.segment.setStart(segStart);
+            drawn.segment.setEnd(segEnd);
+            drawn.target(start, end, tolerance);
+            start = end;
+        }
+        if (!sampling) {
+            sampleStaleSegments();
+        }
+    }
 
-            for (int sample = 0; sample <= 40; sample++) {
-                PoseWithCurvature pose = quintic.getPoint(sample / 40.0).get();
-                seg.getLine().getPoints().add(pose.poseMeters.getTranslation().getX());
-                //Convert from WPILib to JavaFX coords
-                seg.getLine().getPoints().add(-pose.poseMeters.getTranslation().getY());
+    /**
+     * Starts a job that samples every segment that differs from what it should show, unless none does.
+     */
+    private void sampleStaleSegments() {
+        List<Resample> stale = new ArrayList<>();
+        for (int i = 0; i < segments.size(); i++) {
+            DrawnSegment drawn = segments.get(i);
+            if (drawn.isStale()) {
+                stale.add(new Resample(i, drawn, drawn.targetStart, drawn.targetEnd, drawn.targetTolerance));
             }
-
-            if (segStart.isReversed()) {
-                seg.getLine().getStrokeDashArray().addAll(0.1, 0.2);
+        }
+        if (stale.isEmpty()) {
+            return;
+        }
+        sampling = true;
+        sampler.execute(() -> {
+            for (Resample resample : stale) {
+                resample.sample();
             }
+            applier.execute(() -> apply(stale));
+        });
+    }
 
-            seg.getLine().strokeWidthProperty().bind(strokeWidth);
-            seg.getLine().getStyleClass().addAll("path");
+    /**
+     * Draws a finished job, then samples whatever changed while it ran.
+     */
+    private void apply(List<Resample> finished) {
+        for (Resample resample : finished) {
+            // Segments removed while sampling are off screen, so their points are dropped
+            if (resample.index < segments.size() && segments.get(resample.index) == resample.target) {
+                resample.apply();
+                path.getSegmentIndex().put(resample.index, resample.xs, resample.ys, resample.size);
+            }
+        }
+        sampling = false;
+        sampleStaleSegments();
+    }
 
-            FxUtils.enableSubchildSelector(seg.getLine(), subchildIdx);
-            seg.getLine().applyCss();
+    /**
+     * Creates a segment, with its handlers, binding and style set up once. Segments are reused for as long as this
+     * spline exists: removed segments are kept as spares for when waypoints are added again.
+     */
+    private DrawnSegment createSegment(Waypoint segStart, Waypoint segEnd) {
+        SplineSegment seg = new SplineSegment(segStart, segEnd, path);
+        seg.getLine().strokeWidthProperty().bind(strokeWidth);
+        seg.getLine().getStyleClass().addAll("path");
 
-            group.getChildren().add(seg.getLine());
-        }
+        FxUtils.enableSubchildSelector(seg.getLine(), subchildIdx);
+        return new DrawnSegment(seg);
     }
 
     @Override
@@ -103,94 +223,106 @@ public class WpilibSpline extends AbstractSpline {
         group.toBack();
     }
 
-    @Override
-    public boolean writeToFile(java.nio.file.Path path) {
-        final AtomicBoolean okay = new AtomicBoolean(true);
-        TrajectoryGenerator.setErrorHandler((error, stacktrace) -> {
-            LOGGER.log(Level.WARNING, "Could not write Spline to file: " + path.getFileName() + ". " + error, stacktrace);
-            okay.set(false);
-        });
-        try {
-            var values = ProjectPreferences.getInstance().getValues();
-            var prefs = ProjectPreferences.getInstance();
-            var lengthUnit = prefs.getField().getUnit();
-            double height = prefs.getField().getRealLength().getValue().doubleValue();
-            var maxVelocity = values.getMaxVelocity();
-            var maxAcceleration = values.getMaxAcceleration();
-            var trackWidth = values.getTrackWidth();
-
-            // If the export type is different (i.e. meters), then we have to convert it. Otherwise we are good.
-            if (prefs.getValues().getExportUnit() == ProjectPreferences.ExportUnit.METER) {
-                UnitConverter converter = lengthUnit.getConverterTo(PathUnits.METER);
-                height = converter.convert(height);
-                maxVelocity = converter.convert(maxVelocity);
-                maxAcceleration = converter.convert(maxAcceleration);
-                trackWidth = converter.convert(trackWidth);
-            }
+    /**
+     * A segment on screen, with the control points it was last drawn from and those it should be drawn from.
+     */
+    private static final class DrawnSegment {
+        private final SplineSegment segment;
+        private ControlPoint start;
+        private ControlPoint end;
+        private double tolerance;
+        private ControlPoint targetStart;
+        private ControlPoint targetEnd;
+        private double targetTolerance;
 
-            TrajectoryConfig config = new TrajectoryConfig(maxVelocity, maxAcceleration)
-                .setKinematics(new DifferentialDriveKinematics(trackWidth)).setReversed(waypoints.get(0).isReversed());
-            Trajectory traj = trajectoryFromWaypoints(waypoints, config);
-
-            for (int i = 0; i < traj.getStates().size(); ++i) {
-                var st = traj.getStates().get(i);
-                traj.getStates().set(i, new Trajectory.State(
-                    st.timeSeconds, st.velocityMetersPerSecond, st.accelerationMetersPerSecondSq,
-                    new Pose2d(st.poseMeters.getX(), st.poseMeters.getY() + height,
-                        st.poseMeters.getRotation()),
-                    st.curvatureRadPerMeter
-                ));
-            }
+        private DrawnSegment(SplineSegment segment) {
+            this.segment = segment;
+        }
 
-            TrajectoryUtil.toPathweaverJson(traj, path.resolveSibling(path.getFileName() + ".wpilib.json"));
+        private void target(ControlPoint segStart, ControlPoint segEnd, double segTolerance) {
+            targetStart = segStart;
+            targetEnd = segEnd;
+            targetTolerance = segTolerance;
+        }
 
-            return okay.get();
-        } catch (IOException except) {
-            LOGGER.log(Level.WARNING, "Could not write Spline to file: " + path.getFileName(), except);
-            return false;
+        private boolean isStale() {
+            return !targetStart.equals(start) || !targetEnd.equals(end) || targetTolerance != tolerance;
+        }
+
+        /**
+         * Forgets what the segment was drawn from, so it is always sampled again, and put back into the segment
+         * index, when it is reused.
+         */
+        private void forget() {
+            start = null;
+            end = null;
+            tolerance = Double.NaN;
         }
     }
 
-    private static QuinticHermiteSpline[] getQuinticSplinesFromWaypoints(Waypoint[] waypoints) {
-        QuinticHermiteSpline[] splines = new QuinticHermiteSpline[waypoints.length - 1];
-        for (int i = 0; i < waypoints.length - 1; i++) {
-            var p0 = waypoints[i];
-            var p1 = waypoints[i + 1];
+    /**
+     * New points for a stale segment, sampled off the JavaFX thread.
+     */
+    private static final class Resample {
+        private final int index;
+        private final DrawnSegment target;
+        private final ControlPoint start;
+        private final ControlPoint end;
+        private final double tolerance;
+        private double[] xs = new double[32];
+        private double[] ys = new double[32];
+        private int size = 0;
+        private Double[] points;
 
-            double[] xInitialVector =
-                    {p0.getX(), p0.getTangentX(), 0.0};
-            double[] xFinalVector =
-                    {p1.getX(), p1.getTangentX(), 0.0};
-            double[] yInitialVector =
-                    {p0.getY(), p0.getTangentY(), 0.0};
-            double[] yFinalVector =
-                    {p1.getY(), p1.getTangentY(), 0.0};
+        private Resample(int index, DrawnSegment target, ControlPoint start, ControlPoint end, double tolerance) {
+            this.index = index;
+            this.target = target;
+            this.start = start;
+            this.end = end;
+            this.tolerance = tolerance;
+        }
 
-            splines[i] = new QuinticHermiteSpline(xInitialVector, xFinalVector,
-                    yInitialVector, yFinalVector);
+        /**
+         * Samples the segment. Called on the sampler thread.
+         */
+        private void sample() {
+            //Convert from WPILib to JavaFX coords
+            SplineSampler.sample(SplineSampler.segment(start, end), tolerance, (x, y) -> add(x, -y));
+            // Boxed here so the JavaFX thread only has to copy the array into the Polyline
+            points = new Double[size * 2];
+            for (int i = 0; i < size; i++) {
+                points[2 * i] = xs[i];
+                points[2 * i + 1] = ys[i];
+            }
         }
 
-        return splines;
-    }
+        private void add(double x, double y) {
+            if (size == xs.length) {
+                xs = Arrays.copyOf(xs, size * 2);
+                ys = Arrays.copyOf(ys, size * 2);
+            }
+            xs[size] = x;
+            ys[size] = y;
+            size++;
+        }
 
-    private static Trajectory trajectoryFromWaypoints(Iterable<Waypoint> waypoints, TrajectoryConfig config) {
-        ProjectPreferences.Values prefs = ProjectPreferences.getInstance().getValues();
-
-        var list = new TrajectoryGenerator.ControlVectorList();
-        for(Waypoint wp: waypoints) {
-            if(prefs.getExportUnit() == ProjectPreferences.ExportUnit.METER) {
-                UnitConverter converter = prefs.getLengthUnit().getConverterTo(PathUnits.METER);
-                list.add(new Spline.ControlVector(
-                        new double[] {converter.convert(wp.getX()), converter.convert(wp.getTangentX()), 0},
-                        new double[] {converter.convert(wp.getY()), converter.convert(wp.getTangentY()), 0}));
-            } else {
-                list.add(new Spline.ControlVector(
-                        new double[] {wp.getX(), wp.getTangentX(), 0},
-                        new double[] {wp.getY(), wp.getTangentY(), 0}));
+        /**
+         * Replaces the points of the segment. Called on the JavaFX thread.
+         */
+        private void apply() {
+            Polyline line = target.segment.getLine();
+            line.getPoints().setAll(points);
+
+            List<Double> dashes = line.getStrokeDashArray();
+            if (start.isReversed() && dashes.isEmpty()) {
+                dashes.addAll(0.1, 0.2);
+            } else if (!start.isReversed() && !dashes.isEmpty()) {
+                dashes.clear();
             }
 
+            target.start = start;
+            target.end = end;
+            target.tolerance = tolerance;
         }
-
-        return TrajectoryGenerator.generateTrajectory(list, config);
     }
 }
@@ -0,0 +1,98 @@
+package edu.wpi.first.pathweaver;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BuildCommandTest {
+  private static final String PREFERENCES = "{\"lengthUnit\": \"METER\", \"exportUnit\": \"Always Meters\", "
+      + "\"maxVelocity\": 3.0, \"maxAcceleration\": 2.0, \"trackWidth\": 0.6}";
+  private static final String PATH_FILE = "X,Y,Tangent X,Tangent Y,Fixed Theta,Reversed,Name\n"
+      + "1.0,-4.0,3.0,0.0,true,false,\n"
+      + "6.0,-2.0,3.0,0.0,true,false,\n";
+  // Ends facing back towards its start, which WPILib cannot parameterize
+  private static final String MALFORMED_PATH_FILE = "X,Y,Tangent X,Tangent Y,Fixed Theta,Reversed,Name\n"
+      + "1.0,-4.0,1.2,0.0,true,false,\n"
+      + "2.0,-4.0,-1.2,0.0,true,false,\n";
+
+  private Path project;
+
+  @BeforeEach
+  public void initialize(@TempDir Path temp) throws IOException {
+    project = temp.resolve("Project");
+    Files.createDirectories(project.resolve("Paths"));
+    Files.writeString(project.resolve("pathweaver.json"), PREFERENCES, StandardCharsets.UTF_8);
+  }
+
+  @Test
+  public void parseProjectOnly() {
+    Optional<BuildCommand.Arguments> arguments = BuildCommand.parse(new String[] {"--build", "Project"});
+
+    assertTrue(arguments.isPresent(), "A project alone is valid");
+    assertEquals(Path.of("Project").toAbsolutePath(), arguments.get().getProject(), "Wrong project");
+    assertEquals(Optional.empty(), arguments.get().getOutput(), "The project's output directory should be used");
+  }
+
+  @Test
+  public void parseOutput() {
+    Optional<BuildCommand.Arguments> arguments =
+        BuildCommand.parse(new String[] {"--build", "Project", "--output", "Out"});
+
+    assertTrue(arguments.isPresent(), "An output directory is valid");
+    assertEquals(Optional.of(Path.of("Out").toAbsolutePath()), arguments.get().getOutput(), "Wrong output");
+  }
+
+  @Test
+  public void parseRejectsOtherUsage() {
+    assertFalse(BuildCommand.parse(new String[] {"--build"}).isPresent(), "A project is needed");
+    assertFalse(BuildCommand.parse(new String[] {"--build", "Project", "--output"}).isPresent(),
+        "--output needs a directory");
+    assertFalse(BuildCommand.parse(new String[] {"--build", "Project", "--out", "Out"}).isPresent(),
+        "Unknown flags are not valid");
+    assertFalse(BuildCommand.parse(new String[] {"Project"}).isPresent(), "--build must come first");
+  }
+
+  @Test
+  public void usageErrorExitsWithUsage() {
+    assertEquals(BuildCommand.EXIT_USAGE, BuildCommand.run(new String[] {"--build"}), "Wrong exit code");
+  }
+
+  @Test
+  public void missingProjectExitsWithUsage() {
+    String missing = project.resolveSibling("Missing").toString();
+
+    assertEquals(BuildCommand.EXIT_USAGE, BuildCommand.run(new String[] {"--build", missing}), "Wrong exit code");
+  }
+
+  @Test
+  public void successfulBuildWritesToOutputOverride() throws IOException {
+    Files.writeString(project.resolve("Paths/Straight.path"), PATH_FILE, StandardCharsets.UTF_8);
+    Path output = project.resolveSibling("Out");
+
+    int exitCode = BuildCommand.run(new String[] {"--build", project.toString(), "--output", output.toString()});
+
+    assertEquals(BuildCommand.EXIT_SUCCESS, exitCode, "Wrong exit code");
+    assertTrue(Files.exists(output.resolve("Straight.wpilib.json")), "The trajectory should be in the override");
+    assertFalse(Files.exists(project.resolveSibling("output")), "The project's output directory should not be used");
+  }
+
+  @Test
+  public void failedPathExitsWithFailure() throws IOException {
+    Files.writeString(project.resolve("Paths/Straight.path"), PATH_FILE, StandardCharsets.UTF_8);
+    Files.writeString(project.resolve("Paths/Malformed.path"), MALFORMED_PATH_FILE, StandardCharsets.UTF_8);
+
+    int exitCode = BuildCommand.run(new String[] {"--build", project.toString()});
+
+    assertEquals(BuildCommand.EXIT_FAILURE, exitCode, "Wrong exit code");
+  }
+}
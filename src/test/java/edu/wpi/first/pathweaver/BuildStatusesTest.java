@@ -0,0 +1,46 @@
+package edu.wpi.first.pathweaver;
+
+import edu.wpi.first.pathweaver.build.BuildCache;
+import edu.wpi.first.pathweaver.build.PathBuilder;
+import edu.wpi.first.pathweaver.export.ExportSettings;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import tech.units.indriya.unit.Units;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BuildStatusesTest {
+  private static final String PATH_FILE = "X,Y,Tangent X,Tangent Y,Fixed Theta,Reversed,Name\n"
+      + "1.0,-4.0,3.0,0.0,true,false,\n"
+      + "6.0,-2.0,3.0,0.0,true,false,\n";
+  private static final ExportSettings SETTINGS = new ExportSettings(3.0, 2.0, 0.6, 8.2,
+      Units.METRE.getConverterTo(Units.METRE));
+  // Runs the builder and the row updates on the test thread
+  private static final Executor SAME_THREAD = Runnable::run;
+
+  @Test
+  public void rowsFollowTheBuild(@TempDir Path temp) throws IOException {
+    Path pathDirectory = Files.createDirectories(temp.resolve("Paths"));
+    Files.writeString(pathDirectory.resolve("Straight.path"), PATH_FILE, StandardCharsets.UTF_8);
+    List<String> fileNames = List.of("Straight.path", "Missing.path");
+    BuildStatuses statuses = new BuildStatuses();
+    statuses.reset(fileNames);
+    assertEquals(List.of("Straight: Queued", "Missing: Queued"), statuses.getRows(), "Every path should be queued");
+
+    new PathBuilder(SETTINGS, BuildCache.forProject(temp), SAME_THREAD)
+        .build(pathDirectory, fileNames, temp.resolve("output"), statuses.listener(SAME_THREAD, () -> { }))
+        .join();
+
+    assertEquals("Straight: Done", statuses.getRows().get(0), "The built path should be done");
+    assertTrue(statuses.getRows().get(1).startsWith("Missing: Failed"), "The missing path should have failed");
+    assertEquals(2, statuses.getDone(), "Both paths should be finished");
+  }
+}
@@ -0,0 +1,246 @@
+package edu.wpi.first.pathweaver;
+
+import edu.wpi.first.pathweaver.path.Path;
+import edu.wpi.first.pathweaver.path.PathTransform;
+import edu.wpi.first.pathweaver.path.TangentOptimizer;
+import edu.wpi.first.pathweaver.path.wpilib.WpilibPath;
+import edu.wpi.first.pathweaver.spline.Spline;
+import edu.wpi.first.pathweaver.spline.wpilib.WpilibSpline;
+import javafx.geometry.Point2D;
+import javafx.scene.Group;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PathTest {
+  @BeforeEach
+  public void initialize(@TempDir java.nio.file.Path temp) throws IOException {
+    Files.createDirectories(temp.resolve("Paths/"));
+    ProjectPreferences.getInstance(temp.toAbsolutePath().toString());
+    // There is no JavaFX thread in these tests, so splines are sampled and drawn as they are updated
+    WpilibSpline.setExecutors(Runnable::run, Runnable::run);
+  }
+
+  @Test
+  public void indexOfFollowsInsertsAndRemoves() {
+    Path path = new WpilibPath("default");
+    Waypoint start = path.getStart();
+    Waypoint end = path.getEnd();
+    assertEquals(1, path.indexOf(end), "Wrong index before insert");
+
+    Waypoint middle = path.addWaypoint(new Point2D(5.0, -5.0), start, end);
+    Waypoint second = path.addWaypoint(new Point2D(2.0, -2.0), start, middle);
+
+    List<Waypoint> waypoints = path.getWaypoints();
+    for (int i = 0; i < waypoints.size(); i++) {
+      assertEquals(i, path.indexOf(waypoints.get(i)), "Wrong index after insert");
+    }
+
+    assertTrue(path.removeWaypoint(second), "Waypoint should be removed");
+    assertEquals(-1, path.indexOf(second), "A removed waypoint should not be found");
+    assertEquals(1, path.indexOf(middle), "Wrong index after remove");
+    assertEquals(2, path.indexOf(end), "Wrong index after remove");
+  }
+
+  @Test
+  public void indexOfComparesIdentity() {
+    Path path = new WpilibPath("default");
+    Waypoint copy = path.getStart().copy();
+
+    assertEquals(path.getStart(), copy, "The copy should be equal to the original");
+    assertEquals(-1, path.indexOf(copy), "An equal waypoint that is not in the path should not be found");
+  }
+
+  @Test
+  public void removeWaypointRemovesThatWaypoint() {
+    Path path = new WpilibPath("default");
+    Waypoint first = path.addWaypoint(new Point2D(5.0, -5.0), path.getStart(), path.getEnd());
+    Waypoint twin = path.addWaypoint(new Point2D(5.0, -5.0), first, path.getEnd());
+    twin.setTangent(first.getTangent());
+    assertEquals(first, twin, "The waypoints should be equal");
+
+    path.removeWaypoint(twin);
+
+    assertEquals(3, path.getWaypoints().size(), "Only one waypoint should be removed");
+    assertSame(first, path.getWaypoints().get(1), "The other equal waypoint should be kept");
+  }
+
+  @Test
+  public void editUpdatesOnce() {
+    Path path = new CountingPath();
+    CountingSpline spline = (CountingSpline) path.getSpline();
+    path.getWaypoints().addAll(List.of(new Waypoint(new Point2D(0, 0), new Point2D(1, 0), true, false),
+        new Waypoint(new Point2D(5, -5), new Point2D(1, 0), true, false)));
+
+    path.edit(() -> {
+      path.update();
+      path.edit(path::update);
+      path.convertUnit(PathUnits.FOOT, PathUnits.METER);
+      path.update();
+    });
+
+    assertEquals(1, spline.updates, "The spline should be rebuilt once per edit");
+    path.update();
+    assertEquals(2, spline.updates, "Updates outside an edit should rebuild the spline");
+  }
+
+  @Test
+  public void commitWithoutEditThrows() {
+    Path path = new CountingPath();
+    assertThrows(IllegalStateException.class, path::commit);
+  }
+
+  @Test
+  public void reversingOneWaypointReversesThePath() {
+    Path path = new WpilibPath("default");
+    Waypoint middle = path.addWaypoint(new Point2D(5.0, -5.0), path.getStart(), path.getEnd());
+
+    middle.setReversed(true);
+    path.getWaypoints().forEach(wp -> assertTrue(wp.isReversed(), "Every waypoint should be reversed"));
+
+    path.removeWaypoint(middle);
+    middle.setReversed(false);
+    path.getWaypoints().forEach(wp -> assertTrue(wp.isReversed(), "A removed waypoint should not reverse the path"));
+
+    Waypoint added = path.addWaypoint(new Point2D(2.0, -2.0), path.getStart(), path.getEnd());
+    assertTrue(added.isReversed(), "A new waypoint should drive in the direction of the path");
+    path.getStart().setReversed(false);
+    path.getWaypoints().forEach(wp -> assertFalse(wp.isReversed(), "Every waypoint should be forward"));
+  }
+
+  @Test
+  public void recalculatingTangentsKeepsLockedTangents() {
+    Path path = new WpilibPath("default");
+    Waypoint first = path.addWaypoint(new Point2D(3.0, -3.0), path.getStart(), path.getEnd());
+    Waypoint second = path.addWaypoint(new Point2D(6.0, -4.0), first, path.getEnd());
+    Waypoint third = path.addWaypoint(new Point2D(9.0, -2.0), second, path.getEnd());
+    first.setLockTangent(true);
+    first.setTangent(new Point2D(1.0, 2.0));
+
+    second.setCoords(new Point2D(6.5, -1.0));
+    path.recalculateTangents(second);
+
+    assertEquals(new Point2D(1.0, 2.0), first.getTangent(), "A locked tangent should not change");
+    double[] tangent = new double[2];
+    TangentOptimizer.optimalTangent(first.getX(), first.getY(), second.getX(), second.getY(),
+        third.getX(), third.getY(), tangent);
+    assertEquals(new Point2D(tangent[0], tangent[1]), second.getTangent(), "Wrong tangent of the moved waypoint");
+    Waypoint end = path.getEnd();
+    TangentOptimizer.optimalTangent(second.getX(), second.getY(), third.getX(), third.getY(),
+        end.getX(), end.getY(), tangent);
+    assertEquals(new Point2D(tangent[0], tangent[1]), third.getTangent(), "Wrong tangent of the next waypoint");
+  }
+
+  @Test
+  public void transformMovesWholePath() {
+    Path path = new WpilibPath("default");
+    Waypoint end = path.getEnd();
+    double endX = end.getX();
+    double endY = end.getY();
+    double tangentX = end.getTangentX();
+
+    assertTrue(path.transform(PathTransform.translation(1, -1)), "The path should stay on the field");
+    assertEquals(1, path.getStart().getX(), 1e-9, "The start should be moved");
+    assertEquals(-1, path.getStart().getY(), 1e-9, "The start should be moved");
+    assertEquals(endX + 1, end.getX(), 1e-9, "The end should be moved");
+    assertEquals(endY - 1, end.getY(), 1e-9, "The end should be moved");
+    assertEquals(tangentX, end.getTangentX(), 1e-9, "Moving should not change the tangents");
+
+    assertFalse(path.transform(PathTransform.translation(-5, 0)), "The start would leave the field");
+    assertEquals(1, path.getStart().getX(), 1e-9, "Nothing should change when the path would leave the field");
+    assertEquals(endX + 1, end.getX(), 1e-9, "Nothing should change when the path would leave the field");
+  }
+
+  @Test
+  public void transformUpdatesOnceAndRedrawsEachWaypointOnce() {
+    Path path = new CountingPath();
+    CountingSpline spline = (CountingSpline) path.getSpline();
+    path.getWaypoints().addAll(List.of(new Waypoint(new Point2D(2, -2), new Point2D(1, 0), true, false),
+        new Waypoint(new Point2D(5, -5), new Point2D(1, 1), false, false),
+        new Waypoint(new Point2D(8, -3), new Point2D(1, 0), true, false)));
+    int[] redraws = new int[1];
+    for (Waypoint wp : path.getWaypoints()) {
+      wp.getTangentLine().endXProperty().addListener((observable, oldValue, newValue) -> redraws[0]++);
+    }
+    int updates = spline.updates;
+
+    assertTrue(path.transform(PathTransform.rotation(0.1, 5, -4)), "The path should stay on the field");
+
+    assertEquals(updates + 1, spline.updates, "The spline should be rebuilt once");
+    assertEquals(3, redraws[0], "Each tangent line should be moved once, not once per coordinate");
+  }
+
+  @Test
+  public void movesWhileSamplingAreDrawnNext() {
+    Deque<Runnable> jobs = new ArrayDeque<>();
+    WpilibSpline.setExecutors(jobs::add, Runnable::run);
+    Path path = new WpilibPath("default");
+    Waypoint end = path.getEnd();
+    for (int i = 0; i < 5; i++) {
+      end.setY(end.getY() - 1);
+      path.update();
+    }
+    assertEquals(1, jobs.size(), "Only one sampling job should run at a time");
+
+    jobs.remove().run();
+    assertTrue(path.getSegmentIndex().contains(0), "A finished job should be drawn even if the path moved since");
+    assertEquals(1, jobs.size(), "The moves made while sampling should be sampled next");
+
+    jobs.remove().run();
+    assertTrue(jobs.isEmpty(), "Nothing should be left to sample");
+    double distance = path.getSegmentIndex().nearest(end.getX(), -end.getY(), 1.0).orElseThrow().getDistance();
+    assertEquals(0, distance, 1e-6, "The last move should be drawn");
+  }
+
+  private static final class CountingSpline implements Spline {
+    private int updates;
+
+    @Override
+    public void update() {
+      updates++;
+    }
+
+    @Override
+    public void addToGroup(Group splineGroup, double scaleFactor) {
+    }
+
+    @Override
+    public void enableSubchildSelector(int i) {
+    }
+
+    @Override
+    public void removeFromGroup(Group splineGroup) {
+    }
+  }
+
+  private static final class CountingPath extends Path {
+    private CountingPath() {
+      super((waypoints, path) -> new CountingSpline(), "counting");
+    }
+
+    @Override
+    public Path duplicate(String pathName) {
+      return this;
+    }
+
+    @Override
+    protected void updateTangent(Waypoint wp) {
+    }
+
+    @Override
+    public void smoothTangents() {
+    }
+  }
+}
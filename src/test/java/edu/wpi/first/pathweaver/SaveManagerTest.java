@@ -2,6 +2,7 @@ package edu.wpi.first.pathweaver;
 
 import edu.wpi.first.pathweaver.path.Path;
 import edu.wpi.first.pathweaver.path.wpilib.WpilibPath;
+import edu.wpi.first.pathweaver.spline.wpilib.WpilibSpline;
 import javafx.geometry.Point2D;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -24,6 +25,7 @@ public class SaveManagerTest {
     String projectDirectory = temp.toAbsolutePath().toString();
     pathDirectory = temp.resolve("Paths/").toAbsolutePath().toString();
     ProjectPreferences.getInstance(projectDirectory);
+    WpilibSpline.setExecutors(Runnable::run, Runnable::run);
   }
 
   @Test